@@ -0,0 +1,89 @@
+package com.nano.candy.benchmark;
+
+import com.nano.candy.ast.Program;
+import com.nano.candy.code.Chunk;
+import com.nano.candy.codegen.CodeGenerator;
+import com.nano.candy.parser.ParserFactory;
+import com.nano.candy.utils.Context;
+import com.nano.candy.utils.Logger;
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Candy sources used by the benchmarks.
+ */
+final class BenchmarkSources {
+	
+	private BenchmarkSources() {}
+	
+	/**
+	 * Parses the specified source, throws an exception if the source
+	 * has errors.
+	 */
+	public static Program parse(String fileName, String source) {
+		Context context = new Context();
+		Program program = ParserFactory
+			.newParser(context, fileName, source).parse();
+		checkErrors(context.get(Logger.class));
+		return program;
+	}
+	
+	public static Chunk compile(String fileName, String source) {
+		return new CodeGenerator(false, false)
+			.genCode(parse(fileName, source));
+	}
+	
+	private static void checkErrors(Logger logger) {
+		if (!logger.hadErrors()) {
+			return;
+		}
+		StringWriter out = new StringWriter();
+		try {
+			logger.printErrors(out);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+		throw new IllegalStateException(out.toString());
+	}
+	
+	/**
+	 * Generates a source file that has the specified number of classes
+	 * and functions, using most of the statements and expressions.
+	 */
+	public static String generate(int units) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < units; i ++) {
+			builder
+				.append("class Point").append(i).append(" {\n")
+				.append("\tfun init(x, y) {\n")
+				.append("\t\tthis.x = x\n")
+				.append("\t\tthis.y = y\n")
+				.append("\t}\n")
+				.append("\tfun dist() {\n")
+				.append("\t\treturn this.x * this.x + this.y * this.y\n")
+				.append("\t}\n")
+				.append("}\n\n")
+				.append("fun compute").append(i).append("(n, *rest) {\n")
+				.append("\tvar sum = 0\n")
+				.append("\tfor (j in 0..n) {\n")
+				.append("\t\tif (j % 3 == 0 and j != 6) {\n")
+				.append("\t\t\tsum += j\n")
+				.append("\t\t} else {\n")
+				.append("\t\t\tsum -= 1\n")
+				.append("\t\t}\n")
+				.append("\t}\n")
+				.append("\twhile (sum > 100) sum /= 2\n")
+				.append("\tvar arr = [1, 2.5, \"str\", n].map(lambda e -> e)\n")
+				.append("\tvar map = {\"key\": arr, ").append(i).append(": sum}\n")
+				.append("\tvar msg = \"sum: ${sum}, map: ${map}\"\n")
+				.append("\ttry {\n")
+				.append("\t\tsum = sum / n\n")
+				.append("\t} intercept Error as e {\n")
+				.append("\t\tsum = 0\n")
+				.append("\t}\n")
+				.append("\treturn Point").append(i).append("(sum, n).dist()\n")
+				.append("}\n\n");
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,43 @@
+package com.nano.candy.benchmark;
+
+import com.nano.candy.interpreter.InterpreterOptions;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.CallableObj;
+import com.nano.candy.interpreter.builtin.type.ModuleObj;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.runtime.CandyThread;
+
+/**
+ * Runs a Candy source in a new Candy thread, so that the benchmarks
+ * can call the functions defined in the source from Java.
+ */
+final class CandyRuntime {
+	
+	private final CandyThread thread;
+	private final ModuleObj module;
+	
+	public CandyRuntime(String fileName, String source) {
+		this.thread = new CandyThread(
+			Thread.currentThread(), new InterpreterOptions(new String[0]));
+		this.module = thread.run(BenchmarkSources.compile(fileName, source));
+	}
+	
+	public CNIEnv env() {
+		return thread.getCNIEnv();
+	}
+	
+	public CallableObj function(String name) {
+		return (CallableObj) module.callGetAttr(env(), name);
+	}
+	
+	public CandyObject call(CallableObj fn, CandyObject... args) {
+		return fn.call(env(), args);
+	}
+	
+	/**
+	 * Calls the method of the specified object.
+	 */
+	public CandyObject callMethod(CandyObject obj, String name, CandyObject... args) {
+		return call((CallableObj) obj.callGetAttr(env(), name), args);
+	}
+}
@@ -0,0 +1,124 @@
+package com.nano.candy.benchmark;
+
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.ArrayObj;
+import com.nano.candy.interpreter.builtin.type.CallableObj;
+import com.nano.candy.interpreter.builtin.type.IntegerObj;
+import com.nano.candy.interpreter.builtin.type.MapObj;
+import com.nano.candy.interpreter.builtin.type.StringObj;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import java.util.Arrays;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the built-in collections: {@code MapObj} and {@code ArrayObj}.
+ */
+@State(Scope.Thread)
+public class CollectionBenchmark {
+	
+	private static final String SOURCE =
+		"fun twice(e) {\n" +
+		"	return e * 2\n" +
+		"}\n" +
+		"fun isEven(e) {\n" +
+		"	return e % 2 == 0\n" +
+		"}\n";
+	
+	@Param({"100", "10000"})
+	public int size;
+	
+	private CandyRuntime runtime;
+	private CNIEnv env;
+	private CallableObj mapper;
+	private CallableObj filter;
+	
+	private IntegerObj[] intKeys;
+	private StringObj[] strKeys;
+	private MapObj intMap;
+	private MapObj strMap;
+	
+	private CandyObject[] unsorted;
+	private ArrayObj array;
+	
+	@Setup
+	public void setup() {
+		runtime = new CandyRuntime("collection_benchmark.cd", SOURCE);
+		env = runtime.env();
+		mapper = runtime.function("twice");
+		filter = runtime.function("isEven");
+		
+		Random random = new Random(42);
+		intKeys = new IntegerObj[size];
+		strKeys = new StringObj[size];
+		unsorted = new CandyObject[size];
+		for (int i = 0; i < size; i ++) {
+			intKeys[i] = IntegerObj.valueOf(i);
+			strKeys[i] = StringObj.valueOf("key" + i);
+			unsorted[i] = IntegerObj.valueOf(random.nextInt());
+		}
+		intMap = newMap(intKeys);
+		strMap = newMap(strKeys);
+		array = new ArrayObj(unsorted.clone());
+	}
+	
+	private MapObj newMap(CandyObject[] keys) {
+		MapObj map = new MapObj(16);
+		for (CandyObject key : keys) {
+			map.put(env, key, key);
+		}
+		return map;
+	}
+	
+	@Benchmark
+	public MapObj mapPutInteger() {
+		return newMap(intKeys);
+	}
+	
+	@Benchmark
+	public MapObj mapPutString() {
+		return newMap(strKeys);
+	}
+	
+	@Benchmark
+	public int mapGetInteger() {
+		int found = 0;
+		for (IntegerObj key : intKeys) {
+			if (intMap.get(env, key) != null) {
+				found ++;
+			}
+		}
+		return found;
+	}
+	
+	@Benchmark
+	public int mapGetString() {
+		int found = 0;
+		for (StringObj key : strKeys) {
+			if (strMap.get(env, key) != null) {
+				found ++;
+			}
+		}
+		return found;
+	}
+	
+	@Benchmark
+	public CandyObject arraySort() {
+		ArrayObj copy = new ArrayObj(Arrays.copyOf(unsorted, unsorted.length));
+		return runtime.callMethod(copy, "sort");
+	}
+	
+	@Benchmark
+	public CandyObject arrayMap() {
+		return runtime.callMethod(array, "map", mapper);
+	}
+	
+	@Benchmark
+	public CandyObject arrayFilter() {
+		return runtime.callMethod(array, "filter", filter);
+	}
+}
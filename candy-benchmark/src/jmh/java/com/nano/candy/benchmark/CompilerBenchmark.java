@@ -0,0 +1,65 @@
+package com.nano.candy.benchmark;
+
+import com.nano.candy.ast.Program;
+import com.nano.candy.code.Chunk;
+import com.nano.candy.codegen.CodeGenerator;
+import com.nano.candy.parser.ParserFactory;
+import com.nano.candy.parser.Scanner;
+import com.nano.candy.parser.ScannerFactory;
+import com.nano.candy.parser.Token;
+import com.nano.candy.parser.TokenKind;
+import com.nano.candy.utils.Context;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the throughput of the compiler phases on generated sources.
+ */
+@State(Scope.Thread)
+public class CompilerBenchmark {
+	
+	private static final String FILE_NAME = "compiler_benchmark.cd";
+	
+	/**
+	 * The number of the classes and functions in the generated source.
+	 */
+	@Param({"10", "500"})
+	public int units;
+	
+	private char[] source;
+	private Program program;
+	
+	@Setup
+	public void setup() {
+		String content = BenchmarkSources.generate(units);
+		source = content.toCharArray();
+		program = BenchmarkSources.parse(FILE_NAME, content);
+	}
+	
+	@Benchmark
+	public int scan() {
+		Scanner scanner = ScannerFactory
+			.newScanner(new Context(), FILE_NAME, source);
+		int count = 0;
+		Token tok;
+		do {
+			tok = scanner.nextToken();
+			count ++;
+		} while (tok.getKind() != TokenKind.EOF);
+		return count;
+	}
+	
+	@Benchmark
+	public Program parse() {
+		return ParserFactory
+			.newParser(new Context(), FILE_NAME, source).parse();
+	}
+	
+	@Benchmark
+	public Chunk generateCode() {
+		return new CodeGenerator(false, false).genCode(program);
+	}
+}
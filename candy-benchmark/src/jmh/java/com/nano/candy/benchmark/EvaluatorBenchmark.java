@@ -0,0 +1,111 @@
+package com.nano.candy.benchmark;
+
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.CallableObj;
+import com.nano.candy.interpreter.builtin.type.IntegerObj;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the instruction dispatch of the {@code CandyV1Evaluator} with
+ * small Candy functions that stress different kinds of instructions.
+ */
+@State(Scope.Thread)
+public class EvaluatorBenchmark {
+	
+	private static final String SOURCE =
+		"fun arithmetic(n) {\n" +
+		"	var sum = 0\n" +
+		"	var i = 0\n" +
+		"	while (i < n) {\n" +
+		"		sum = sum + i * 2 - i % 3\n" +
+		"		i += 1\n" +
+		"	}\n" +
+		"	return sum\n" +
+		"}\n" +
+		"fun fib(n) {\n" +
+		"	if (n < 2) return n\n" +
+		"	return fib(n - 1) + fib(n - 2)\n" +
+		"}\n" +
+		"var counter = 0\n" +
+		"fun globals(n) {\n" +
+		"	for (i in 0..n) {\n" +
+		"		counter += i\n" +
+		"	}\n" +
+		"	return counter\n" +
+		"}\n" +
+		"class Vec {\n" +
+		"	fun init(x, y) {\n" +
+		"		this.x = x\n" +
+		"		this.y = y\n" +
+		"	}\n" +
+		"	fun add(v) {\n" +
+		"		return Vec(this.x + v.x, this.y + v.y)\n" +
+		"	}\n" +
+		"}\n" +
+		"fun attributes(n) {\n" +
+		"	var v = Vec(0, 0)\n" +
+		"	var one = Vec(1, 1)\n" +
+		"	for (i in 0..n) {\n" +
+		"		v = v.add(one)\n" +
+		"	}\n" +
+		"	return v.x\n" +
+		"}\n" +
+		"fun closures(n) {\n" +
+		"	var sum = 0\n" +
+		"	fun add(i) {\n" +
+		"		sum += i\n" +
+		"	}\n" +
+		"	for (i in 0..n) {\n" +
+		"		add(i)\n" +
+		"	}\n" +
+		"	return sum\n" +
+		"}\n";
+	
+	private static final IntegerObj LOOP_COUNT = IntegerObj.valueOf(1000);
+	private static final IntegerObj FIB_N = IntegerObj.valueOf(15);
+	
+	private CandyRuntime runtime;
+	private CallableObj arithmetic;
+	private CallableObj fib;
+	private CallableObj globals;
+	private CallableObj attributes;
+	private CallableObj closures;
+	
+	@Setup
+	public void setup() {
+		runtime = new CandyRuntime("evaluator_benchmark.cd", SOURCE);
+		arithmetic = runtime.function("arithmetic");
+		fib = runtime.function("fib");
+		globals = runtime.function("globals");
+		attributes = runtime.function("attributes");
+		closures = runtime.function("closures");
+	}
+	
+	@Benchmark
+	public CandyObject arithmetic() {
+		return runtime.call(arithmetic, LOOP_COUNT);
+	}
+	
+	@Benchmark
+	public CandyObject calls() {
+		return runtime.call(fib, FIB_N);
+	}
+	
+	@Benchmark
+	public CandyObject globalVariables() {
+		return runtime.call(globals, LOOP_COUNT);
+	}
+	
+	@Benchmark
+	public CandyObject attributes() {
+		return runtime.call(attributes, LOOP_COUNT);
+	}
+	
+	@Benchmark
+	public CandyObject closures() {
+		return runtime.call(closures, LOOP_COUNT);
+	}
+}
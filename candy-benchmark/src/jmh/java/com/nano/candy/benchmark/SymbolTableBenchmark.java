@@ -0,0 +1,79 @@
+package com.nano.candy.benchmark;
+
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.IntegerObj;
+import com.nano.candy.interpreter.builtin.utils.HashSymbolTable;
+import com.nano.candy.interpreter.builtin.utils.ShapedSymbolTable;
+import com.nano.candy.interpreter.builtin.utils.SymbolTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the attribute access of objects in the symbol tables.
+ */
+@State(Scope.Thread)
+public class SymbolTableBenchmark {
+	
+	@Param({"4", "16"})
+	public int attributes;
+	
+	private String[] names;
+	private CandyObject value;
+	
+	private HashSymbolTable hashTable;
+	private ShapedSymbolTable shapedTable;
+	
+	@Setup
+	public void setup() {
+		names = new String[attributes];
+		for (int i = 0; i < attributes; i ++) {
+			// Attribute names are interned by the constant pool.
+			names[i] = ("attr" + i).intern();
+		}
+		value = IntegerObj.valueOf(1);
+		hashTable = new HashSymbolTable();
+		shapedTable = new ShapedSymbolTable();
+		putAll(hashTable);
+		putAll(shapedTable);
+	}
+	
+	private SymbolTable putAll(SymbolTable table) {
+		for (String name : names) {
+			table.put(name, value);
+		}
+		return table;
+	}
+	
+	private int getAll(SymbolTable table) {
+		int found = 0;
+		for (String name : names) {
+			if (table.get(name) != null) {
+				found ++;
+			}
+		}
+		return found;
+	}
+	
+	@Benchmark
+	public SymbolTable hashTablePut() {
+		return putAll(new HashSymbolTable());
+	}
+	
+	@Benchmark
+	public int hashTableGet() {
+		return getAll(hashTable);
+	}
+	
+	@Benchmark
+	public SymbolTable shapedTablePut() {
+		return putAll(new ShapedSymbolTable());
+	}
+	
+	@Benchmark
+	public int shapedTableGet() {
+		return getAll(shapedTable);
+	}
+}
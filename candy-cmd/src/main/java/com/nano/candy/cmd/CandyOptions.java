@@ -20,6 +20,17 @@ public class CandyOptions {
 		}
 	}
 	
+	/**
+	 * Checks the specified file is a source file or a bytecode file.
+	 */
+	public static final void checkExecutableFile(File file) {
+		if (file != null && file.isFile() &&
+		    CandySystem.isCandyBytecode(file.getName())) {
+			return;
+		}
+		checkSourceFile(file);
+	}
+	
 	protected File srcFile;
 	protected boolean printHelper;
 	protected CandyTool tool;
@@ -10,9 +10,11 @@ public class CandyToolFactory {
 
 	static {
 		CandyToolFactory.register(new PerformanceTool());
+		CandyToolFactory.register(new ProfilerTool());
 		CandyToolFactory.register(new ExeTool());
 		CandyToolFactory.register(new AstTool());
 		CandyToolFactory.register(new DisassembleTool());
+		CandyToolFactory.register(new CompileTool());
 		// CandyToolFactory.register(new DebugerTool());
 	}
 
@@ -0,0 +1,130 @@
+package com.nano.candy.cmd;
+
+import com.nano.candy.code.Chunk;
+import com.nano.candy.code.ChunkSerializer;
+import com.nano.candy.interpreter.Interpreter;
+import com.nano.candy.sys.CandySystem;
+import com.nano.candy.utils.CandyFileFilter;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Compiles Candy source files to bytecode files (.cdc) ahead of time.
+ *
+ * <p>If the specified source file is a directory, all the source files in
+ * the directory tree are compiled and the bytecode files are written to
+ * the same relative paths under the output directory.
+ *
+ * <p>The bytecode files can be executed by the {@code exe} tool or be
+ * imported as modules without the source files.
+ */
+public class CompileTool implements CandyTool {
+
+	@Override
+	public String groupName() {
+		return "Compiler";
+	}
+
+	@Override
+	public String groupHelper() {
+		return "Compile the specified source files to bytecode files.";
+	}
+
+	@Override
+	public String[] aliases() {
+		return new String[]{"compile"};
+	}
+
+	@Override
+	public void defineOptions(Options options) {
+		options.addOption("-o", true,
+			"Place the bytecode files into the specified directory.");
+	}
+
+	@Override
+	public void run(Interpreter interpreter, CandyOptions options) throws Exception {
+		File srcFile = options.getSourceFile();
+		if (srcFile == null || !srcFile.exists()) {
+			throw new Options.ParseException("Missing source files.");
+		}
+		File outDir = null;
+		if (options.getCmd().hasOption("-o")) {
+			outDir = new File(options.getCmd().getOptionArg("-o"));
+		}
+		int failures;
+		if (srcFile.isDirectory()) {
+			failures = compileDirectory(
+				srcFile, outDir == null ? srcFile : outDir);
+		} else {
+			CandyOptions.checkSourceFile(srcFile);
+			if (outDir == null) {
+				outDir = srcFile.getAbsoluteFile().getParentFile();
+			}
+			failures = compileFile(srcFile, outDir) ? 0 : 1;
+		}
+		if (failures != 0) {
+			System.exit(65);
+		}
+	}
+
+	private int compileDirectory(File srcDir, File outDir) {
+		int failures = 0;
+		File[] srcFiles = listFiles(srcDir, CandyFileFilter.CANDY_FILE_FILTER);
+		for (File srcFile : srcFiles) {
+			if (!compileFile(srcFile, outDir)) {
+				failures ++;
+			}
+		}
+		File[] subDirs = listFiles(srcDir, File::isDirectory);
+		for (File subDir : subDirs) {
+			failures += compileDirectory(
+				subDir, new File(outDir, subDir.getName()));
+		}
+		return failures;
+	}
+
+	/**
+	 * Lists the files in the directory, {@link File#listFiles} returns
+	 * null if the directory can't be read.
+	 */
+	private static File[] listFiles(File dir, FileFilter filter) {
+		File[] files = dir.listFiles(filter);
+		if (files == null) {
+			throw new CmdToolException(
+				"Can't read the directory: " + dir.getPath());
+		}
+		return files;
+	}
+
+	private boolean compileFile(File srcFile, File outDir) {
+		Optional<Chunk> chunk;
+		try {
+			chunk = CandyCompiler.compile(srcFile, true);
+		} catch (IOException e) {
+			throw new CmdToolException(e.getMessage());
+		}
+		if (!chunk.isPresent()) {
+			return false;
+		}
+		File outFile = new File(
+			outDir, CandySystem.toBytecodeFileName(srcFile.getName()));
+		writeBytecode(chunk.get(), outFile);
+		return true;
+	}
+
+	private void writeBytecode(Chunk chunk, File outFile) {
+		outFile.getAbsoluteFile().getParentFile().mkdirs();
+		try (OutputStream out = new BufferedOutputStream(
+			new FileOutputStream(outFile))) {
+			ChunkSerializer.write(chunk, out);
+		} catch (IOException e) {
+			throw new CmdToolException(
+				"Can't write the file: " + outFile.getPath());
+		}
+	}
+}
@@ -24,7 +24,7 @@ public class ExeTool implements CandyTool {
 
 	@Override
 	public String groupHelper() {
-		return "Execute Candy source files.";
+		return "Execute Candy source files or bytecode files.";
 	}
 
 	@Override
@@ -44,7 +44,7 @@ public class ExeTool implements CandyTool {
 		if (options.getCmd().hasOption("-m")) {
 			srcFile = getSrcFile(srcFile, CandySystem.getCandyLibsPath());
 		}
-		CandyOptions.checkSourceFile(srcFile);
+		CandyOptions.checkExecutableFile(srcFile);
 		interpret(interpreter, srcFile);
 	}
 	
@@ -57,7 +57,12 @@ public class ExeTool implements CandyTool {
 	}
 
 	private void interpret(Interpreter interpreter, File srcFile) throws IOException {
-		int exitCode = run(interpreter, srcFile, false);
+		int exitCode;
+		if (CandySystem.isCandyBytecode(srcFile.getName())) {
+			exitCode = interpreter.execute(srcFile);
+		} else {
+			exitCode = run(interpreter, srcFile, false);
+		}
 		System.exit(exitCode);
 	}
 	
@@ -4,6 +4,7 @@ import com.nano.candy.ast.ASTreeNode;
 import com.nano.candy.code.Chunk;
 import com.nano.candy.codegen.CodeGenerator;
 import com.nano.candy.interpreter.Interpreter;
+import com.nano.candy.interpreter.runtime.InstructionProfile;
 import com.nano.candy.parser.ParserFactory;
 import com.nano.candy.utils.Context;
 import com.nano.candy.utils.Logger;
@@ -12,6 +13,8 @@ import java.io.File;
 
 public class PerformanceTool implements CandyTool {
 
+	private static final int MAX_PROFILE_ROWS = 20;
+
 	protected PerformanceTool() {}
 
 	@Override
@@ -30,7 +33,11 @@ public class PerformanceTool implements CandyTool {
 	}
 
 	@Override
-	public void defineOptions(Options options) {}
+	public void defineOptions(Options options) {
+		options.addOption("-c", false,
+			"Count the executed instructions and print the hottest " +
+			"instructions, instruction pairs, functions and call sites.");
+	}
 
 	@Override
 	public void run(Interpreter interpreter, CandyOptions options) throws Exception {
@@ -56,6 +63,10 @@ public class PerformanceTool implements CandyTool {
 			System.exit(65);
 		}
 		
+		boolean countInstructions = options.getCmd().hasOption("-c");
+		if (countInstructions) {
+			options.getInterpreterOptions().setIsCountingInstructions(true);
+		}
 		startTimeMillis = System.currentTimeMillis();
 		interpreter.execute(chunk);
 		runDuration += System.currentTimeMillis() - startTimeMillis;
@@ -68,6 +79,10 @@ public class PerformanceTool implements CandyTool {
 			ms2str(runDuration)
 		);
 		System.out.println(tableView.toString());
+		if (countInstructions) {
+			System.out.println();
+			System.out.print(InstructionProfile.report(MAX_PROFILE_ROWS));
+		}
 	}
 
 	private static String ms2str(long ms) {
@@ -0,0 +1,209 @@
+package com.nano.candy.cmd;
+
+import com.nano.candy.interpreter.Interpreter;
+import com.nano.candy.interpreter.runtime.CandyThread;
+import com.nano.candy.interpreter.runtime.StackSampler;
+import com.nano.candy.interpreter.runtime.StackSnapshot;
+import com.nano.candy.sys.CandySystem;
+import com.nano.candy.utils.TableView;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a Candy program under a sampling profiler.
+ *
+ * <p>The stacks of all the running Candy threads are sampled at a fixed
+ * interval (see {@link StackSampler}). The samples are written to a file
+ * in the collapsed stack format, one line per unique stack:
+ *
+ * <pre>
+ * main.cd (main.cd:12);fib (main.cd:3);fib (main.cd:4) 25
+ * </pre>
+ *
+ * <p>which can be rendered by the flame graph tools. The self and total
+ * time of every function are printed as a table when the program ends.
+ * The time is wall-clock time, the blocked threads are sampled too.
+ */
+public class ProfilerTool implements CandyTool {
+
+	private static final long DEFAULT_INTERVAL_MILLIS = 10;
+	private static final int DEFAULT_MAX_ROWS = 20;
+
+	protected ProfilerTool() {}
+
+	@Override
+	public String groupName() {
+		return "Profiler";
+	}
+
+	@Override
+	public String groupHelper() {
+		return "Run a program and sample the stacks of the Candy threads.";
+	}
+
+	@Override
+	public String[] aliases() {
+		return new String[]{"prof"};
+	}
+
+	@Override
+	public void defineOptions(Options options) {
+		options.addOption("-i", true,
+			"The sampling interval in milliseconds, default 10.");
+		options.addOption("-o", true,
+			"Write the collapsed stacks into the specified file, " +
+			"default <source file>.collapsed.");
+		options.addOption("-n", true,
+			"The max number of functions in the table, default 20.");
+	}
+
+	@Override
+	public void run(Interpreter interpreter, CandyOptions options) throws Exception {
+		File srcFile = options.getSourceFile();
+		CandyOptions.checkExecutableFile(srcFile);
+		CommandLine cmd = options.getCmd();
+		long interval = cmd.hasOption("-i") ?
+			parsePositive(cmd.getOptionArg("-i")) : DEFAULT_INTERVAL_MILLIS;
+		int maxRows = cmd.hasOption("-n") ?
+			(int) parsePositive(cmd.getOptionArg("-n")) : DEFAULT_MAX_ROWS;
+		File outFile = cmd.hasOption("-o") ?
+			new File(cmd.getOptionArg("-o")) :
+			new File(srcFile.getName() + ".collapsed");
+
+		Profile profile = new Profile();
+		StackSampler sampler = new StackSampler(interval, profile);
+		sampler.start();
+		int exitCode;
+		try {
+			if (CandySystem.isCandyBytecode(srcFile.getName())) {
+				exitCode = interpreter.execute(srcFile);
+			} else {
+				exitCode = ExeTool.run(interpreter, srcFile, false);
+			}
+		} finally {
+			sampler.stop();
+		}
+		profile.writeCollapsedStacks(outFile);
+		System.out.println(profile.toTableView(interval, maxRows));
+		System.out.printf("%d samples, %dms interval, collapsed stacks: %s\n",
+			profile.samples, interval, outFile.getPath());
+		System.exit(exitCode);
+	}
+
+	private static long parsePositive(String arg) {
+		try {
+			long v = Long.parseLong(arg);
+			if (v > 0) {
+				return v;
+			}
+		} catch (NumberFormatException e) {}
+		throw new Options.ParseException("Expected a positive integer: " + arg);
+	}
+
+	private static class FunctionStat {
+		final String name;
+		long self;
+		long total;
+
+		FunctionStat(String name) {
+			this.name = name;
+		}
+	}
+
+	/**
+	 * The aggregated samples, only accessed by the sampler thread until
+	 * the sampler stops.
+	 */
+	private static class Profile implements StackSampler.SampleHandler {
+
+		private final HashMap<String, Long> stacks = new HashMap<>();
+		private final HashMap<String, FunctionStat> functions = new HashMap<>();
+		private final HashSet<FunctionStat> seen = new HashSet<>();
+		private long samples;
+
+		@Override
+		public void handle(CandyThread thread, StackSnapshot stack) {
+			// Resolves all the frames before updating the counts, so a
+			// sample is counted completely or not at all if resolving a
+			// frame throws.
+			StringBuilder collapsed = new StringBuilder();
+			String[] keys = new String[stack.size()];
+			// From the bottom frame to the top frame.
+			for (int i = stack.size()-1; i >= 0; i --) {
+				String name = stack.getFunctionName(i);
+				String fileName = new File(stack.getSourceFileName(i)).getName();
+				if (collapsed.length() != 0) {
+					collapsed.append(';');
+				}
+				collapsed.append(name).append(" (").append(fileName)
+					.append(':').append(stack.getLineNumber(i)).append(')');
+				keys[i] = name + " (" + fileName + ")";
+			}
+
+			seen.clear();
+			for (int i = keys.length-1; i >= 0; i --) {
+				FunctionStat stat = functions.get(keys[i]);
+				if (stat == null) {
+					stat = new FunctionStat(keys[i]);
+					functions.put(keys[i], stat);
+				}
+				// Recursive calls are counted once for the total time.
+				if (seen.add(stat)) {
+					stat.total ++;
+				}
+				if (i == 0) {
+					stat.self ++;
+				}
+			}
+			stacks.merge(collapsed.toString(), 1L, Long::sum);
+			samples ++;
+		}
+
+		public void writeCollapsedStacks(File file) throws IOException {
+			try (Writer writer = new BufferedWriter(new FileWriter(file))) {
+				for (Map.Entry<String, Long> entry : stacks.entrySet()) {
+					writer.write(entry.getKey());
+					writer.write(' ');
+					writer.write(String.valueOf(entry.getValue()));
+					writer.write('\n');
+				}
+			}
+		}
+
+		public TableView toTableView(long interval, int maxRows) {
+			List<FunctionStat> stats = new ArrayList<>(functions.values());
+			stats.sort((a, b) -> a.self != b.self ?
+				Long.compare(b.self, a.self) : Long.compare(b.total, a.total));
+			TableView tableView = new TableView();
+			tableView.setHeaders("function", "self", "self%", "total", "total%");
+			for (int i = 0; i < stats.size() && i < maxRows; i ++) {
+				FunctionStat stat = stats.get(i);
+				tableView.addItem(
+					stat.name,
+					ms2str(stat.self*interval),
+					percent(stat.self),
+					ms2str(stat.total*interval),
+					percent(stat.total)
+				);
+			}
+			return tableView;
+		}
+
+		private String percent(long n) {
+			return samples == 0 ? "0.0%" :
+				String.format("%.1f%%", n*100.0/samples);
+		}
+	}
+
+	private static String ms2str(long ms) {
+		return String.format("%dms", ms);
+	}
+}
@@ -2,7 +2,9 @@ package com.nano.candy.code;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 
 public class Chunk {
 
@@ -16,6 +18,13 @@ public class Chunk {
 	protected ArrayList<String> globalVarNames;
 	protected HashMap<String, Integer> globalVarTable;
 	
+	/**
+	 * The module paths of the import statements whose module paths are
+	 * string literals, so the imported modules can be found without the
+	 * syntax tree.
+	 */
+	protected ArrayList<String> staticImports;
+	
 	private Chunk() {}
 	
 	public String getSourceFileName() {
@@ -60,6 +69,13 @@ public class Chunk {
 		return globalVarTable;
 	}
 	
+	public List<String> getStaticImports() {
+		if (staticImports == null) {
+			return Collections.emptyList();
+		}
+		return staticImports;
+	}
+	
 	public ConstantValue.MethodInfo findMethodInfoByPC(int pc) {
 		for (ConstantValue val : getConstants()){
 			if (!(val instanceof ConstantValue.MethodInfo)) {
@@ -97,6 +113,7 @@ public class Chunk {
 		
 		protected ArrayList<String> globalVarNames;
 		protected HashMap<String, Integer> globalVarTable;
+		protected ArrayList<String> staticImports;
 		
 		;public Builder(String sourceFileName, byte[] code) {
 			this.sourceFileName = sourceFileName;
@@ -114,6 +131,11 @@ public class Chunk {
 			return this;
 		}
 		
+		public Builder setStaticImports(ArrayList<String> staticImports) {
+			this.staticImports = staticImports;
+			return this;
+		}
+		
 		public Builder setLineNumberTable(LineNumberTable lineNumberTable) {
 			this.lineNumberTable = lineNumberTable;
 			return this;
@@ -143,6 +165,7 @@ public class Chunk {
 			chunk.codeAttr = codeAttr;
 			chunk.globalVarNames = globalVarNames;
 			chunk.globalVarTable = globalVarTable;
+			chunk.staticImports = staticImports;
 			return chunk;
 		}
 	}
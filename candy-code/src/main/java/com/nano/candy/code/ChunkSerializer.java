@@ -0,0 +1,353 @@
+package com.nano.candy.code;
+
+import com.nano.candy.std.CandyAttrSymbol;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Writes a chunk to a binary stream and reads it back.
+ *
+ * <p>Layout of the binary format (big-endian):
+ *
+ * <pre>
+ * u4 magic, u2 version
+ * str source file name
+ * u4 code length, u1[] code
+ * u4 line number table length, u1[] line number table
+ * code attribute
+ * u4 global variable count, str[] global variable names
+ * u4 global variable table size, (str name, u4 index)[]
+ * u4 static import count, str[] static import paths
+ * u4 constant count, constant[]
+ * </pre>
+ *
+ * <p>A string is written as a {@code u4} length followed by its UTF-8
+ * bytes, and a constant is written as a {@code u1} tag followed by its
+ * value. Methods of a class are written inside the class constant.
+ */
+public class ChunkSerializer {
+
+	public static final int MAGIC = 0xCA4D1C0D;
+
+	/**
+	 * The version of the bytecode. It must be increased once the format,
+	 * the instruction set or the code generator is changed, so that the
+	 * chunks written by older versions are rejected.
+	 */
+	public static final int VERSION = 5;
+
+	private static final byte TAG_DOUBLE = 1;
+	private static final byte TAG_INTEGER = 2;
+	private static final byte TAG_STRING = 3;
+	private static final byte TAG_METHOD = 4;
+	private static final byte TAG_CLASS = 5;
+	private static final byte TAG_CLOSE_INDEXES = 6;
+	private static final byte TAG_UNPACK_FLAGS = 7;
+
+	/**
+	 * Thrown when the input is not a chunk or is written by another
+	 * version of the serializer.
+	 */
+	public static class InvalidChunkException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		public InvalidChunkException(String msg) {
+			super(msg);
+		}
+	}
+
+	public static void write(Chunk chunk, OutputStream out) throws IOException {
+		DataOutputStream dout = new DataOutputStream(out);
+		dout.writeInt(MAGIC);
+		dout.writeShort(VERSION);
+		writeString(dout, chunk.sourceFileName);
+		writeBytes(dout, chunk.code);
+		writeBytes(dout, chunk.lineNumberTable == null ?
+			new byte[0] : chunk.lineNumberTable.tableBytes);
+		writeCodeAttr(dout, chunk.codeAttr);
+		writeGlobalVars(dout, chunk.globalVarNames, chunk.globalVarTable);
+		writeStrings(dout, chunk.staticImports);
+		ConstantValue[] constants = chunk.getConstants();
+		dout.writeInt(constants.length);
+		for (ConstantValue constant : constants) {
+			writeConstant(dout, constant);
+		}
+		dout.flush();
+	}
+
+	public static Chunk read(InputStream in) throws IOException {
+		DataInputStream din = new DataInputStream(in);
+		if (din.readInt() != MAGIC) {
+			throw new InvalidChunkException("Not a Candy bytecode file.");
+		}
+		int version = din.readUnsignedShort();
+		if (version != VERSION) {
+			throw new InvalidChunkException(String.format(
+				"Unsupported bytecode version %d, expected %d.",
+				version, VERSION
+			));
+		}
+		String sourceFileName = readString(din);
+		Chunk.Builder builder = new Chunk.Builder(sourceFileName, readBytes(din))
+			.setLineNumberTable(new LineNumberTable(readBytes(din)))
+			.setCodeAttr(readCodeAttr(din));
+		readGlobalVars(din, builder);
+		builder.setStaticImports(readStrings(din));
+		ConstantValue[] constants = new ConstantValue[din.readInt()];
+		for (int i = 0; i < constants.length; i ++) {
+			constants[i] = readConstant(din);
+		}
+		return builder.setConstantPool(constants).build();
+	}
+
+	private static void writeString(DataOutputStream out, String str) throws IOException {
+		if (str == null) {
+			out.writeInt(-1);
+			return;
+		}
+		writeBytes(out, str.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static void writeCodeAttr(DataOutputStream out, CodeAttribute attr) throws IOException {
+		out.writeInt(attr.fromPc);
+		out.writeInt(attr.length);
+		out.writeInt(attr.maxStack);
+		out.writeInt(attr.maxLocal);
+		ErrorHandlerTable table = attr.errorHandlerTable;
+		out.writeInt(table.length());
+		for (int i = 0; i < table.length(); i ++) {
+			ErrorHandlerTable.ErrorHandler handler = table.get(i);
+			out.writeInt(handler.startPc);
+			out.writeInt(handler.endPc);
+			out.writeInt(handler.handlerPc);
+		}
+	}
+
+	private static CodeAttribute readCodeAttr(DataInputStream in) throws IOException {
+		int fromPc = in.readInt();
+		int length = in.readInt();
+		int maxStack = in.readInt();
+		int maxLocal = in.readInt();
+		ErrorHandlerTable.ErrorHandler[] handlers =
+			new ErrorHandlerTable.ErrorHandler[in.readInt()];
+		for (int i = 0; i < handlers.length; i ++) {
+			handlers[i] = new ErrorHandlerTable.ErrorHandler(
+				in.readInt(), in.readInt(), in.readInt());
+		}
+		return new CodeAttribute(
+			fromPc, length, maxStack, maxLocal,
+			new ErrorHandlerTable(handlers)
+		);
+	}
+
+	private static void writeStrings(DataOutputStream out, ArrayList<String> strs) throws IOException {
+		if (strs == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(strs.size());
+		for (String str : strs) {
+			writeString(out, str);
+		}
+	}
+
+	private static ArrayList<String> readStrings(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		if (count < 0) {
+			return null;
+		}
+		ArrayList<String> strs = new ArrayList<>(count);
+		for (int i = 0; i < count; i ++) {
+			strs.add(readString(in));
+		}
+		return strs;
+	}
+
+	private static void writeGlobalVars(DataOutputStream out,
+	                                    ArrayList<String> names,
+	                                    HashMap<String, Integer> table) throws IOException {
+		if (names == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(names.size());
+			for (String name : names) {
+				writeString(out, name);
+			}
+		}
+		if (table == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(table.size());
+			for (Map.Entry<String, Integer> entry : table.entrySet()) {
+				writeString(out, entry.getKey());
+				out.writeInt(entry.getValue());
+			}
+		}
+	}
+
+	private static void readGlobalVars(DataInputStream in, Chunk.Builder builder) throws IOException {
+		int count = in.readInt();
+		if (count >= 0) {
+			ArrayList<String> names = new ArrayList<>(count);
+			for (int i = 0; i < count; i ++) {
+				names.add(readString(in));
+			}
+			builder.setGlobalVarNames(names);
+		}
+		count = in.readInt();
+		if (count >= 0) {
+			HashMap<String, Integer> table = new HashMap<>();
+			for (int i = 0; i < count; i ++) {
+				String name = readString(in);
+				table.put(name, in.readInt());
+			}
+			builder.setGlobalVarTable(table);
+		}
+	}
+
+	private static void writeConstant(DataOutputStream out, ConstantValue constant) throws IOException {
+		if (constant instanceof ConstantValue.ConstantDouble) {
+			out.writeByte(TAG_DOUBLE);
+			out.writeDouble(((ConstantValue.ConstantDouble) constant).value());
+		} else if (constant instanceof ConstantValue.ConstantInteger) {
+			out.writeByte(TAG_INTEGER);
+			out.writeLong(((ConstantValue.ConstantInteger) constant).value());
+		} else if (constant instanceof ConstantValue.ConstantUtf8String) {
+			out.writeByte(TAG_STRING);
+			writeString(out, ((ConstantValue.ConstantUtf8String) constant).value());
+		} else if (constant instanceof ConstantValue.MethodInfo) {
+			out.writeByte(TAG_METHOD);
+			writeMethodInfo(out, (ConstantValue.MethodInfo) constant);
+		} else if (constant instanceof ConstantValue.ClassInfo) {
+			out.writeByte(TAG_CLASS);
+			writeClassInfo(out, (ConstantValue.ClassInfo) constant);
+		} else if (constant instanceof ConstantValue.CloseIndexes) {
+			out.writeByte(TAG_CLOSE_INDEXES);
+			writeBytes(out, ((ConstantValue.CloseIndexes) constant).getUpvalueIndexes());
+		} else if (constant instanceof ConstantValue.UnpackFlags) {
+			out.writeByte(TAG_UNPACK_FLAGS);
+			out.writeInt(((ConstantValue.UnpackFlags) constant).unpackFlags);
+		} else {
+			throw new IllegalArgumentException(
+				"Unknown constant: " + constant.headName());
+		}
+	}
+
+	private static ConstantValue readConstant(DataInputStream in) throws IOException {
+		byte tag = in.readByte();
+		switch (tag) {
+			case TAG_DOUBLE:
+				return new ConstantValue.ConstantDouble(in.readDouble());
+			case TAG_INTEGER:
+				return new ConstantValue.ConstantInteger(in.readLong());
+			case TAG_STRING:
+				return new ConstantValue.ConstantUtf8String(readString(in));
+			case TAG_METHOD:
+				return readMethodInfo(in, null);
+			case TAG_CLASS:
+				return readClassInfo(in);
+			case TAG_CLOSE_INDEXES:
+				return new ConstantValue.CloseIndexes(readBytes(in));
+			case TAG_UNPACK_FLAGS:
+				return new ConstantValue.UnpackFlags(in.readInt());
+		}
+		throw new InvalidChunkException("Unknown constant tag: " + tag);
+	}
+
+	private static void writeMethodInfo(DataOutputStream out, ConstantValue.MethodInfo methodInfo) throws IOException {
+		writeString(out, methodInfo.name);
+		out.writeInt(methodInfo.arity);
+		out.writeInt(methodInfo.varArgsIndex);
+		out.writeInt(methodInfo.optionalArgFlags);
+		writeBytes(out, methodInfo.upvalues);
+		writeCodeAttr(out, methodInfo.attrs);
+	}
+
+	private static ConstantValue.MethodInfo readMethodInfo(DataInputStream in, ConstantValue.ClassInfo classDefinedIn) throws IOException {
+		ConstantValue.MethodInfo methodInfo = new ConstantValue.MethodInfo();
+		methodInfo.name = readString(in);
+		methodInfo.arity = in.readInt();
+		methodInfo.varArgsIndex = in.readInt();
+		methodInfo.optionalArgFlags = in.readInt();
+		methodInfo.upvalues = readBytes(in);
+		methodInfo.attrs = readCodeAttr(in);
+		methodInfo.classDefinedIn = classDefinedIn;
+		return methodInfo;
+	}
+
+	private static void writeClassInfo(DataOutputStream out, ConstantValue.ClassInfo classInfo) throws IOException {
+		out.writeInt(classInfo.fromPC);
+		writeString(out, classInfo.className);
+		out.writeBoolean(classInfo.hasSuperClass);
+		out.writeInt(classInfo.attrs.size());
+		for (CandyAttrSymbol attr : classInfo.attrs) {
+			out.writeByte(attr.getModifiers());
+			writeString(out, attr.getName());
+		}
+		out.writeBoolean(classInfo.initializer.isPresent());
+		if (classInfo.initializer.isPresent()) {
+			writeMethodInfo(out, classInfo.initializer.get());
+		}
+		out.writeInt(classInfo.methods.length);
+		for (ConstantValue.MethodInfo method : classInfo.methods) {
+			writeMethodInfo(out, method);
+		}
+	}
+
+	private static ConstantValue.ClassInfo readClassInfo(DataInputStream in) throws IOException {
+		ConstantValue.ClassInfo classInfo = new ConstantValue.ClassInfo();
+		classInfo.fromPC = in.readInt();
+		classInfo.className = readString(in);
+		classInfo.hasSuperClass = in.readBoolean();
+		int attrCount = in.readInt();
+		Set<CandyAttrSymbol> attrs = new LinkedHashSet<>();
+		for (int i = 0; i < attrCount; i ++) {
+			byte modifiers = in.readByte();
+			attrs.add(new CandyAttrSymbol(modifiers, readString(in)));
+		}
+		classInfo.attrs = attrs;
+		if (in.readBoolean()) {
+			classInfo.initializer = Optional.of(readMethodInfo(in, classInfo));
+		} else {
+			classInfo.initializer = Optional.empty();
+		}
+		ConstantValue.MethodInfo[] methods =
+			new ConstantValue.MethodInfo[in.readInt()];
+		for (int i = 0; i < methods.length; i ++) {
+			methods[i] = readMethodInfo(in, classInfo);
+		}
+		classInfo.methods = methods;
+		return classInfo;
+	}
+}
@@ -1,12 +1,23 @@
 package com.nano.candy.code;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class ConstantPool {
 	
 	private ConstantValue[] cp;
+	
+	/**
+	 * The runtime objects of the number and string constants.
+	 *
+	 * <p>They are created lazily by the interpreter and shared by all
+	 * the executions of the chunk in all the threads, so they must be
+	 * immutable.
+	 */
+	private final AtomicReferenceArray<Object> runtimeConstants;
 
 	public ConstantPool(ConstantValue[] cp) {
 		this.cp = cp;
+		this.runtimeConstants = new AtomicReferenceArray<>(cp.length);
 	}
 	
 	/**
@@ -44,6 +55,27 @@ public class ConstantPool {
 		return ((ConstantValue.ConstantUtf8String)cp[index]).value();
 	}
 	
+	/**
+	 * Returns the runtime object of the specified constant, or null if
+	 * it has not been created.
+	 */
+	public Object getRuntimeConstant(int index) {
+		return runtimeConstants.get(index);
+	}
+	
+	/**
+	 * Sets the runtime object of the specified constant. The object is
+	 * not replaced if another thread has set it.
+	 *
+	 * @return the runtime object of the constant.
+	 */
+	public Object setRuntimeConstant(int index, Object obj) {
+		if (runtimeConstants.compareAndSet(index, null, obj)) {
+			return obj;
+		}
+		return runtimeConstants.get(index);
+	}
+	
 	public int getUnpackFlags(int index) {
 		return ((ConstantValue.UnpackFlags)cp[index]).unpackFlags;
 	}
@@ -183,6 +183,10 @@ public abstract class ConstantValue {
 			return upvalueIndexesMarks[index];
 		}
 		
+		public byte[] getUpvalueIndexes() {
+			return upvalueIndexes;
+		}
+		
 		@Override
 		public String headName() {
 			return "Close Info";
@@ -104,9 +104,32 @@ public class OpCodes {
 
 	public static final byte OP_EXIT                      = (byte)82;
 
-	public static final byte INSTRUCTION_NUMBER = 83;
-
-	public static final String[] INSTRUCTION_NAMES = new String[83];
+	/**
+	 * Superinstructions fused from common instruction sequences by
+	 * the ChunkBuilder.
+	 */
+	public static final byte OP_LOAD_ADD_CONST            = (byte)83;
+	public static final byte OP_INC_LOCAL                 = (byte)84;
+	public static final byte OP_LT_JUMP_IF_FALSE          = (byte)85;
+	public static final byte OP_LTEQ_JUMP_IF_FALSE        = (byte)86;
+	public static final byte OP_GT_JUMP_IF_FALSE          = (byte)87;
+	public static final byte OP_GTEQ_JUMP_IF_FALSE        = (byte)88;
+
+	/**
+	 * Counted loops over integer ranges.
+	 */
+	public static final byte OP_RANGE_PREPARE             = (byte)89;
+	public static final byte OP_RANGE_NEXT                = (byte)90;
+
+	/**
+	 * Concatenates the string values of the operands, used by the
+	 * interpolated strings.
+	 */
+	public static final byte OP_CONCAT                    = (byte)91;
+
+	public static final byte INSTRUCTION_NUMBER = 92;
+
+	public static final String[] INSTRUCTION_NAMES = new String[INSTRUCTION_NUMBER];
 	static {
 		INSTRUCTION_NAMES[OP_NOP]                       = "nop";
 		INSTRUCTION_NAMES[OP_POP]                       = "pop";
@@ -191,6 +214,15 @@ public class OpCodes {
 		INSTRUCTION_NAMES[OP_ASSERT]                    = "assert";
 		INSTRUCTION_NAMES[OP_PRINT]                     = "print";
 		INSTRUCTION_NAMES[OP_EXIT]                      = "exit";
+		INSTRUCTION_NAMES[OP_LOAD_ADD_CONST]            = "load_add_const";
+		INSTRUCTION_NAMES[OP_INC_LOCAL]                 = "inc_local";
+		INSTRUCTION_NAMES[OP_LT_JUMP_IF_FALSE]          = "jump_if_not_lt";
+		INSTRUCTION_NAMES[OP_LTEQ_JUMP_IF_FALSE]        = "jump_if_not_lteq";
+		INSTRUCTION_NAMES[OP_GT_JUMP_IF_FALSE]          = "jump_if_not_gt";
+		INSTRUCTION_NAMES[OP_GTEQ_JUMP_IF_FALSE]        = "jump_if_not_gteq";
+		INSTRUCTION_NAMES[OP_RANGE_PREPARE]             = "range_prepare";
+		INSTRUCTION_NAMES[OP_RANGE_NEXT]                = "range_next";
+		INSTRUCTION_NAMES[OP_CONCAT]                    = "concat";
 	}
 
 	public static String getName(byte opcode) {
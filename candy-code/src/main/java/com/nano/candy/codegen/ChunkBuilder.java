@@ -100,8 +100,23 @@ public class ChunkBuilder {
 	private int cp;
 	private State state;
 	
+	/**
+	 * The start positions of the last two emitted instructions, used
+	 * to fuse instruction sequences into superinstructions.
+	 */
+	private int lastOpPc = -1;
+	private int secondLastOpPc = -1;
+	
+	/**
+	 * Instructions before this position can't be fused with the following
+	 * instructions, because any position not less than it may be a jump
+	 * target.
+	 */
+	private int fusionBarrier;
+	
 	private ArrayList<String> globalVariableNames;
 	private HashMap<String, Integer> globalVariableTable;
+	private ArrayList<String> staticImports;
 
 	public ChunkBuilder() {
 		this.lineNumberTable = new ArrayList<>();
@@ -121,6 +136,10 @@ public class ChunkBuilder {
 		this.globalVariableTable = globalVariableTable;
 	}
 	
+	public void setStaticImports(ArrayList<String> staticImports) {
+		this.staticImports = staticImports;
+	}
+	
 	protected void addLineNumber(int startPc, int lineNumber) {
 		if (lineNumber < 0) {
 			return;
@@ -139,7 +158,14 @@ public class ChunkBuilder {
 			new ErrorHandlerTable.ErrorHandler(startPc, endPc, handlerPc));
 	}
 
+	/**
+	 * Returns the current code pointer.
+	 *
+	 * <p>The returned position may be used as a jump target, so the
+	 * code before it will no longer be fused.
+	 */
 	public int curCp() {
+		fusionBarrier = cp;
 		return cp;
 	}
 	
@@ -164,10 +190,12 @@ public class ChunkBuilder {
 	
 	public void newState() {
 		this.state = new State(state, cp);
+		this.fusionBarrier = cp;
 	}
 	
 	public void closeState() {
 		this.state = state.enclosing;
+		this.fusionBarrier = cp;
 	}
 	
 	public void updateState(byte opcode) {
@@ -194,6 +222,7 @@ public class ChunkBuilder {
 			case OP_NEW_ARRAY:
 			case OP_NEW_MAP:
 			case OP_BUILT_TUPLE:
+			case OP_CONCAT:
 			case OP_GLOBAL_GET:
 			case OP_CALL_SLOT:
 			case OP_CALL_GLOBAL:
@@ -243,8 +272,13 @@ public class ChunkBuilder {
 	 * @param line the line number to which the opcode is mapped.
 	 */
 	public void emitop(byte opcode, int line) {
+		if (fuse(opcode)) {
+			return;
+		}
 		addLineNumber(cp, line);
 		updateState(opcode);
+		secondLastOpPc = lastOpPc;
+		lastOpPc = cp;
 		emit1(opcode);
 	}
 	
@@ -309,12 +343,14 @@ public class ChunkBuilder {
 		int offset = cp - position;
 		code[position]     = (byte) (offset >> 8);
 		code[position + 1] = (byte) offset;
+		fusionBarrier = cp;
 	}
 	
 	public void backpatch(int position, int extraOffset) {
 		int offset = cp - position + extraOffset;
 		code[position]     = (byte) (offset >> 8);
 		code[position + 1] = (byte) offset;
+		fusionBarrier = cp + extraOffset;
 	}
 	
 	/**
@@ -350,6 +386,156 @@ public class ChunkBuilder {
 	}
 
 
+	/* -------------------- Superinstructions -------------------- */
+	
+	/**
+	 * Fuses the given opcode with the last emitted instructions into a
+	 * superinstruction if they form one of the following sequences:
+	 *
+	 * <pre>
+	 * load slot; iconst c; add         -> load_add_const slot c
+	 * load_add_const slot c; store slot; pop -> inc_local slot c
+	 * cmplt; pop_jump_if_false         -> cmplt_jump_if_false
+	 *   (also cmplteq, cmpgt and cmpgteq)
+	 * </pre>
+	 *
+	 * The superinstruction is written in place of the first instruction
+	 * of the sequence, and the operand stack effect of the sequence is
+	 * unchanged.
+	 *
+	 * @return true if the opcode has been fused.
+	 */
+	private boolean fuse(byte opcode) {
+		switch (opcode) {
+			case OP_ADD:
+				return fuseLoadAddConst();
+			case OP_POP:
+				return fuseIncLocal();
+			case OP_POP_JUMP_IF_FALSE:
+				return fuseCompareJump();
+			default:
+				return false;
+		}
+	}
+	
+	private boolean canFuse(int startPc) {
+		return startPc >= 0 && startPc >= fusionBarrier;
+	}
+	
+	/**
+	 * Removes the code from the specified position.
+	 */
+	private void rewind(int pc) {
+		cp = pc;
+		for (int i = lineNumberTable.size()-1; i >= 0; i --) {
+			if (lineNumberTable.get(i).startPc <= pc) {
+				break;
+			}
+			lineNumberTable.remove(i);
+		}
+	}
+	
+	private static boolean isLoad(byte opcode) {
+		return opcode == OP_LOAD || opcode >= OP_LOAD0 && opcode <= OP_LOAD4;
+	}
+	
+	private static boolean isStore(byte opcode) {
+		return opcode == OP_STORE || opcode >= OP_STORE0 && opcode <= OP_STORE4;
+	}
+	
+	/**
+	 * Returns the slot of the load instruction or the store instruction
+	 * at the specified position.
+	 */
+	private int slotAt(int pc) {
+		switch (code[pc]) {
+			case OP_LOAD: 
+			case OP_STORE:
+				return code[pc + 1] & 0xFF;
+			case OP_LOAD0: case OP_STORE0: return 0;
+			case OP_LOAD1: case OP_STORE1: return 1;
+			case OP_LOAD2: case OP_STORE2: return 2;
+			case OP_LOAD3: case OP_STORE3: return 3;
+			case OP_LOAD4: case OP_STORE4: return 4;
+		}
+		throw new Error("Not a local instruction: " + OpCodes.getName(code[pc]));
+	}
+	
+	private int slotInsLength(int pc) {
+		return code[pc] == OP_LOAD || code[pc] == OP_STORE ? 2 : 1;
+	}
+	
+	private int indexLength(int pc) {
+		return code[pc] == (byte) 0xFF ? 3 : 1;
+	}
+	
+	private boolean fuseLoadAddConst() {
+		int loadPc = secondLastOpPc;
+		int constPc = lastOpPc;
+		if (!canFuse(loadPc) || !isLoad(code[loadPc]) || 
+		    code[constPc] != OP_ICONST) {
+			return false;
+		}
+		if (loadPc + slotInsLength(loadPc) != constPc ||
+		    constPc + 1 + indexLength(constPc + 1) != cp) {
+			return false;
+		}
+		int slot = slotAt(loadPc);
+		byte[] index = Arrays.copyOfRange(code, constPc + 1, cp);
+		updateState(OP_ADD);
+		rewind(loadPc);
+		emit1(OP_LOAD_ADD_CONST);
+		emit1((byte) slot);
+		for (byte b : index) {
+			emit1(b);
+		}
+		lastOpPc = loadPc;
+		secondLastOpPc = -1;
+		return true;
+	}
+	
+	private boolean fuseIncLocal() {
+		int addPc = secondLastOpPc;
+		int storePc = lastOpPc;
+		if (!canFuse(addPc) || code[addPc] != OP_LOAD_ADD_CONST ||
+		    !isStore(code[storePc])) {
+			return false;
+		}
+		if (addPc + 2 + indexLength(addPc + 2) != storePc ||
+		    storePc + slotInsLength(storePc) != cp) {
+			return false;
+		}
+		if ((code[addPc + 1] & 0xFF) != slotAt(storePc)) {
+			return false;
+		}
+		updateState(OP_POP);
+		rewind(storePc);
+		code[addPc] = OP_INC_LOCAL;
+		lastOpPc = addPc;
+		secondLastOpPc = -1;
+		return true;
+	}
+	
+	private boolean fuseCompareJump() {
+		int cmpPc = lastOpPc;
+		if (!canFuse(cmpPc) || cmpPc + 1 != cp) {
+			return false;
+		}
+		byte fused;
+		switch (code[cmpPc]) {
+			case OP_LT:   fused = OP_LT_JUMP_IF_FALSE;   break;
+			case OP_LTEQ: fused = OP_LTEQ_JUMP_IF_FALSE; break;
+			case OP_GT:   fused = OP_GT_JUMP_IF_FALSE;   break;
+			case OP_GTEQ: fused = OP_GTEQ_JUMP_IF_FALSE; break;
+			default: return false;
+		}
+		updateState(OP_POP_JUMP_IF_FALSE);
+		code[cmpPc] = fused;
+		lastOpPc = cmpPc;
+		secondLastOpPc = -1;
+		return true;
+	}
+	
 	public void emitIndex(int index) {
 		if (index < 255) {
 			emit1((byte) index);
@@ -405,6 +591,7 @@ public class ChunkBuilder {
 			.setCodeAttr(buildCodeAttr(maxLocal))
 			.setGlobalVarNames(globalVariableNames)
 			.setGlobalVarTable(globalVariableTable)
+			.setStaticImports(staticImports)
 			.build();
 	}
 }
@@ -85,6 +85,12 @@ public class CodeGenerator implements AstVisitor<Void, Void>, Phase<ASTreeNode,
 	 */
 	private ArrayList<String> globalVariableNames;
 	
+	/**
+	 * The module paths of the import statements whose module paths are
+	 * string literals.
+	 */
+	private ArrayList<String> staticImports;
+	
 	/**
 	 * This empty constructor for {@link Phase}.
 	 */
@@ -106,6 +112,7 @@ public class CodeGenerator implements AstVisitor<Void, Void>, Phase<ASTreeNode,
 		this.isDebugMode = debugMode;
 		this.globalVariableTable = new HashMap<>();
 		this.globalVariableNames = new ArrayList<>();
+		this.staticImports = new ArrayList<>();
 	}
 	
 	private void clearStatus() {
@@ -116,6 +123,7 @@ public class CodeGenerator implements AstVisitor<Void, Void>, Phase<ASTreeNode,
 		this.isDebugMode = false;
 		this.globalVariableTable = null;
 		this.globalVariableNames = null;
+		this.staticImports = null;
 	}
 
 	@Override
@@ -132,6 +140,7 @@ public class CodeGenerator implements AstVisitor<Void, Void>, Phase<ASTreeNode,
 		builder.setSourceFileName(node.pos.getFileName());
 		builder.setGlobalVariableNames(globalVariableNames);
 		builder.setGlobalVariableTable(globalVariableTable);
+		builder.setStaticImports(staticImports);
 		return builder.build(locals.maxSlotCount());
 	}
 	
@@ -607,6 +616,9 @@ public class CodeGenerator implements AstVisitor<Void, Void>, Phase<ASTreeNode,
 
 	@Override
 	public Void visit(Stmt.Import node) {
+		if (node.modulePath instanceof Expr.StringLiteral) {
+			staticImports.add(((Expr.StringLiteral) node.modulePath).literal);
+		}
 		node.modulePath.accept(this);
 		if (node.asIdentifier.isPresent()) {
 			builder.emitop(OP_IMPORT_NAME, line(node));
@@ -658,6 +670,10 @@ public class CodeGenerator implements AstVisitor<Void, Void>, Phase<ASTreeNode,
 
 	@Override
 	public Void visit(Stmt.For node) {
+		if (isRangeExpr(node.iterable)) {
+			genRangeFor(node);
+			return null;
+		}
 		// push iterable to stack top.
 		node.iterable.accept(this);
 		
@@ -685,6 +701,89 @@ public class CodeGenerator implements AstVisitor<Void, Void>, Phase<ASTreeNode,
 		return null;
 	}
 	
+	/**
+	 * Returns true if the given expression is 'a..b' or 'range(a, b)'.
+	 */
+	private boolean isRangeExpr(Expr expr) {
+		if (expr instanceof Expr.Binary) {
+			return ((Expr.Binary) expr).operator == TokenKind.DOT_DOT;
+		}
+		if (!(expr instanceof Expr.CallFunc)) {
+			return false;
+		}
+		Expr.CallFunc call = (Expr.CallFunc) expr;
+		if (!(call.expr instanceof Expr.VarRef) || call.arguments.size() != 2) {
+			return false;
+		}
+		for (Expr.Argument arg : call.arguments) {
+			if (arg.isUnpack) {
+				return false;
+			}
+		}
+		String name = ((Expr.VarRef) call.expr).name;
+		return "range".equals(name) && 
+			locals.resolveLocal(name) == -1;
+	}
+	
+	/**
+	 * Generates a counted loop for iterating over an integer range.
+	 *
+	 * <p>If the iterable is not a built-in Range at runtime ('range' is
+	 * redefined), the loop falls back to the iterator protocol:
+	 *
+	 * <pre>
+	 *     range_prepare  counter, L_begin  ; Range: jump to L_begin
+	 *     [iterator()]                     ; otherwise fall through.
+	 * L_begin:
+	 *     range_next     counter, i, L_exit, L_body
+	 *     [call hasNext(), jump to L_exit if false]
+	 *     [call next(), store i]
+	 * L_body:
+	 *     ...
+	 *     loop           L_begin
+	 * L_exit:
+	 * </pre>
+	 */
+	private void genRangeFor(Stmt.For node) {
+		node.iterable.accept(this);
+		
+		enterScope();
+		int counterSlot = locals.addLocal("hidden$i_range");
+		builder.emitopWithArg(OP_RANGE_PREPARE, counterSlot, line(node));
+		int prepareLabel = builder.curCp();
+		builder.emit2(0xFFFF);
+		
+		invokeIterator(line(node));
+		int nextSlot = cacheAttrToLocal(Names.METHOD_ITERATOR_NEXT, "hidden$i_next");
+		int hasNextSlot = cacheAttrToLocal(Names.METHOD_ITERATOR_HAS_NEXT, 
+			"hidden$i_has_next");
+		int iteratingSlot = locals.addLocal(node.iteratingVar);
+		builder.backpatch(prepareLabel);
+		
+		int begainning = builder.curCp();
+		enterLoop(new LoopMarker(begainning));
+		builder.emitopWithArg(OP_RANGE_NEXT, counterSlot, line(node));
+		builder.emit1((byte) iteratingSlot);
+		int exitLabel = builder.curCp();
+		builder.emit2(0xFFFF);
+		int bodyLabel = builder.curCp();
+		builder.emit2(0xFFFF);
+		
+		callLocalVar(hasNextSlot, 0, -1);
+		int jumpOutLabel = builder.emitLabel(OP_POP_JUMP_IF_FALSE, -1);
+		callLocalVar(nextSlot, 0, -1);
+		builder.emitopWithArg(OP_POP_STORE, iteratingSlot);
+		builder.backpatch(bodyLabel);
+		walkBlock(node.body);
+		
+		builder.emitLoop(begainning, -1);
+		builder.backpatch(jumpOutLabel);
+		builder.backpatch(exitLabel);
+		exitLoop();
+		
+		closeScope(true);
+	}
+	
 	private void invokeIterator(int lineNumber) {
 		builder.emitInvoke(Names.METHOD_ITERATOR, 0, lineNumber);
 		builder.emitop(OP_DUP);
@@ -1141,6 +1240,25 @@ public class CodeGenerator implements AstVisitor<Void, Void>, Phase<ASTreeNode,
 		return null;
 	}
 	
+	@Override
+	public Void visit(Expr.InterpolatedString node) {
+		int count = 0;
+		for (Expr element : node.elements) {
+			if (count == 255) {
+				// Concatenates the pushed elements into the first operand
+				// of the next concatenation.
+				builder.state().pop(count);
+				builder.emitopWithArg(OP_CONCAT, count);
+				count = 1;
+			}
+			element.accept(this);
+			count ++;
+		}
+		builder.state().pop(count);
+		builder.emitopWithArg(OP_CONCAT, count, line(node));
+		return null;
+	}
+	
 	@Override
 	public Void visit(Expr.IntegerLiteral node) {
 		builder.emitop(OP_ICONST, line(node));
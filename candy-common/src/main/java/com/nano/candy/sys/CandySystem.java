@@ -5,6 +5,7 @@ import java.io.File;
 
 public class CandySystem {
 	public static final String FILE_SUFFIX = "cd";
+	public static final String BYTECODE_FILE_SUFFIX = "cdc";
 	public static final String END_OF_LINE = "end of line";
 	
 	public static final String DEFAULT_USER_DIR = getUserDirectory();
@@ -13,12 +14,31 @@ public class CandySystem {
 	private static String CANDY_HOME;
 	private static String CANDY_LIBS;
 	
+	/**
+	 * The directory where the compiled modules are cached, specified by 
+	 * {@code $CANDY_CACHE}. Null if the cache is disabled, that is, 
+	 * {@code $CANDY_CACHE} is not set or is an empty string.
+	 */
+	private static String CANDY_CACHE;
+	
+	/**
+	 * How the Candy threads are run, specified by {@code $CANDY_THREADS}:
+	 * {@code "platform"}, {@code "virtual"} or the number of the threads
+	 * in a pool. Null means the default mode.
+	 */
+	private static String CANDY_THREADS;
+	
 	public static void init() {
 		CANDY_HOME = System.getenv("CANDY_HOME");
 		if (CANDY_HOME != null) {
 			String libs = CANDY_HOME.endsWith("/") ? "libs" : "/libs";
 			CANDY_LIBS = CANDY_HOME + libs;
 		}
+		CANDY_CACHE = System.getenv("CANDY_CACHE");
+		if (CANDY_CACHE != null && CANDY_CACHE.isEmpty()) {
+			CANDY_CACHE = null;
+		}
+		CANDY_THREADS = System.getenv("CANDY_THREADS");
 	}
 	
 	public static String getCandyHomePath() {
@@ -33,10 +53,42 @@ public class CandySystem {
 		CANDY_LIBS = path;
 	}
 	
+	public static String getBytecodeCachePath() {
+		return CANDY_CACHE;
+	}
+	
+	public static void setBytecodeCachePath(String path) {
+		CANDY_CACHE = path;
+	}
+	
+	public static String getThreadsMode() {
+		return CANDY_THREADS;
+	}
+	
+	public static void setThreadsMode(String mode) {
+		CANDY_THREADS = mode;
+	}
+	
 	public static boolean isCandySource(String fileName) {
 		return fileName.endsWith("." + FILE_SUFFIX);
 	}
 	
+	public static boolean isCandyBytecode(String fileName) {
+		return fileName.endsWith("." + BYTECODE_FILE_SUFFIX);
+	}
+	
+	/**
+	 * Returns the name of the bytecode file compiled from the specified
+	 * source file. E.g "foo.cd" -> "foo.cdc".
+	 */
+	public static String toBytecodeFileName(String sourceFileName) {
+		if (isCandySource(sourceFileName)) {
+			sourceFileName = sourceFileName.substring(
+				0, sourceFileName.length() - FILE_SUFFIX.length() - 1);
+		}
+		return sourceFileName + "." + BYTECODE_FILE_SUFFIX;
+	}
+	
 	public static File getCandySourceFile(String parent, String path) {
 		String extension = FilePathUtils.getExtension(path);
 		if (extension.length() != 0) {
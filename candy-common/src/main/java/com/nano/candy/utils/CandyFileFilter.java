@@ -5,11 +5,20 @@ import java.io.FileFilter;
 
 public class CandyFileFilter implements FileFilter {
 	
-	public static final CandyFileFilter CANDY_FILE_FILTER = new CandyFileFilter();
+	public static final CandyFileFilter CANDY_FILE_FILTER = 
+		new CandyFileFilter(CandySystem.FILE_SUFFIX);
+	
+	public static final CandyFileFilter CANDY_BYTECODE_FILE_FILTER = 
+		new CandyFileFilter(CandySystem.BYTECODE_FILE_SUFFIX);
+	
+	private final String suffix;
+	
+	private CandyFileFilter(String suffix){
+		this.suffix = "." + suffix;
+	}
 	
-	private CandyFileFilter(){}
 	@Override
 	public boolean accept(File f) {
-		return f.isFile() && f.getName().endsWith("." + CandySystem.FILE_SUFFIX);
+		return f.isFile() && f.getName().endsWith(suffix);
 	}
 }
@@ -32,7 +32,7 @@ public abstract class AbstractAstVisitor<S, E> implements AstVisitor<S, E> {
 	@Override
 	public S visit(Stmt.Return node) {
 		if (node.expr.isPresent()) {
-			node.accept(this);
+			node.expr.get().accept(this);
 		}
 		return null;
 	}
@@ -193,6 +193,14 @@ public abstract class AbstractAstVisitor<S, E> implements AstVisitor<S, E> {
 		return null;
 	}
 	
+	@Override
+	public E visit(Expr.InterpolatedString node) {
+		for (Expr element : node.elements) {
+			element.accept(this);
+		}
+		return null;
+	}
+	
 	@Override
 	public E visit(Expr.Unary node) {
 		node.expr.accept(this);
@@ -37,6 +37,7 @@ public interface AstVisitor<S, E> {
 	public E visit(Expr.Array node);
 	public E visit(Expr.Tuple node);
 	public E visit(Expr.Map node);
+	public E visit(Expr.InterpolatedString node);
 	public E visit(Expr.VarRef node);
 	public E visit(Expr.Unary node);
 	public E visit(Expr.TernaryOperator node);
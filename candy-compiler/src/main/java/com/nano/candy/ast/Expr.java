@@ -349,6 +349,24 @@ public abstract class Expr extends ASTreeNode {
 		}
 	}
 	
+	/**
+	 * An interpolated string such as {@code "a${b}c"}, the string values
+	 * of the elements are concatenated.
+	 */
+	public static class InterpolatedString extends Expr {
+		
+		public List<Expr> elements;
+		
+		public InterpolatedString(List<Expr> elements) {
+			this.elements = elements;
+		}
+		
+		@Override
+		public <R> R accept(AstVisitor<?, R> visitor) {
+			return visitor.visit(this);
+		}
+	}
+	
 	public static class Map extends Literal {
 		
 		public List<Expr> keys;
@@ -1553,14 +1553,13 @@ class CandyParser implements Parser {
 	/**
 	 * InterpolatedString = ( <INTERPOLATION> Expr )+ <STRING>
 	 *
-	 * Interpolation is syntatic sugar for calling "".join(...)
-	 * So that the string:
+	 * The string:
 	 *
 	 *     "a${b+c}d${e}" 
 	 *
-	 * will be compiled to the:
+	 * will be parsed to the elements:
 	 *
-	 *     "".join(["a", b+c, "d", e])
+	 *     ["a", b+c, "d", e]
 	 *
 	 * The empty string in this list will be ignored.
 	 */
@@ -1587,7 +1586,7 @@ class CandyParser implements Parser {
 			reportError(tok, "Syntax error in the interpolation.");
 			break;
 		}
-		return joinExprArr(first, arr);
+		return locate(first, new Expr.InterpolatedString(arr));
 	}
 	
 	private Expr.StringLiteral strLitNode(Token tok) {
@@ -1598,19 +1597,6 @@ class CandyParser implements Parser {
 		return locate(tok, new Expr.StringLiteral(lit));
 	}
 	
-	/**
-	 * Converts the given expression list into the
-	 *
-	 *     "".join([e1, e2...])
-	 */
-	private Expr joinExprArr(Token location, ArrayList<Expr> exprArr) {
-		Expr array = locate(location, new Expr.Array(exprArr));
-		Expr joinMet = new Expr.GetAttr(strLitNode(location, ""), "join");
-		List<Expr.Argument> args = new ArrayList<>();
-		args.add(new Expr.Argument(array, false));
-		return locate(location, new Expr.CallFunc(joinMet, args));
-	}
-
 	/**
 	 * Tuple = Elements
 	 */
@@ -1,6 +1,13 @@
 package com.nano.candy.interpreter;
 import com.nano.candy.code.Chunk;
+import java.io.File;
+import java.io.IOException;
 
 public interface Interpreter {
 	public int execute(Chunk chunk);
+	
+	/**
+	 * Executes the bytecode file generated by the {@code compile} tool.
+	 */
+	public int execute(File bytecodeFile) throws IOException;
 }
@@ -4,7 +4,13 @@ import com.nano.candy.code.Chunk;
 import com.nano.candy.interpreter.Interpreter;
 import com.nano.candy.interpreter.InterpreterOptions;
 import com.nano.candy.interpreter.runtime.CandyThread;
+import com.nano.candy.interpreter.runtime.CompiledFileInfo;
+import com.nano.candy.interpreter.runtime.RuntimeCompiler;
 import com.nano.candy.interpreter.runtime.VMExitException;
+import com.nano.candy.interpreter.runtime.module.ModuleManager;
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
 
 public class InterpreterImpl implements Interpreter {
 	
@@ -16,12 +22,30 @@ public class InterpreterImpl implements Interpreter {
 	
 	@Override
 	public int execute(Chunk chunk) {
+		return runMainThread(mainThread -> mainThread.run(chunk));
+	}
+
+	@Override
+	public int execute(File bytecodeFile) throws IOException {
+		CompiledFileInfo file = RuntimeCompiler.loadBytecode(bytecodeFile);
+		return runMainThread(mainThread -> mainThread.run(file));
+	}
+
+	/**
+	 * Runs the task in the current thread as the main Candy thread, and
+	 * waits for the other Candy threads to end.
+	 *
+	 * @return the exit code.
+	 */
+	private int runMainThread(Consumer<CandyThread> task) {
 		CandyThread mainThread = new CandyThread(Thread.currentThread(), options);
 		int code = 0;
 		try {
-			mainThread.run(chunk);
+			task.accept(mainThread);
 		} catch (VMExitException e) {
 			code = e.code;
+		} finally {
+			ModuleManager.getManager().discardPrecompiledFiles();
 		}
 		CandyThread.waitOtherThreadsEnd();
 		return code;
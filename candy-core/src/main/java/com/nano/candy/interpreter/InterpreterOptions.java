@@ -7,6 +7,7 @@ public class InterpreterOptions {
 	private String[] args;
 	private boolean isDebugMode;
 	private boolean isInteractionMode;
+	private boolean isCountingInstructions;
 	
 	private InputStream stdin;
 	private PrintStream stdout;
@@ -67,4 +68,16 @@ public class InterpreterOptions {
 	public boolean isInteractionMode() {
 		return isInteractionMode;
 	}
+
+	/**
+	 * Counts the executed instructions, see {@code InstructionProfile}.
+	 */
+	public InterpreterOptions setIsCountingInstructions(boolean isCountingInstructions) {
+		this.isCountingInstructions = isCountingInstructions;
+		return this;
+	}
+
+	public boolean isCountingInstructions() {
+		return isCountingInstructions;
+	}
 }
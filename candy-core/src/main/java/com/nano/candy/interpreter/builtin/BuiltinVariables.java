@@ -4,10 +4,16 @@ import com.nano.candy.interpreter.builtin.BuiltinFunctions;
 import com.nano.candy.interpreter.builtin.CandyClass;
 import com.nano.candy.interpreter.builtin.ObjectClass;
 import com.nano.candy.interpreter.builtin.type.ArrayObj;
+import com.nano.candy.interpreter.builtin.type.AtomicIntegerObj;
+import com.nano.candy.interpreter.builtin.type.AtomicRefObj;
+import com.nano.candy.interpreter.builtin.type.BlockingQueueObj;
 import com.nano.candy.interpreter.builtin.type.BoolObj;
+import com.nano.candy.interpreter.builtin.type.ByteBufferObj;
+import com.nano.candy.interpreter.builtin.type.ConcurrentMapObj;
 import com.nano.candy.interpreter.builtin.type.DoubleObj;
 import com.nano.candy.interpreter.builtin.type.FileObj;
 import com.nano.candy.interpreter.builtin.type.IntegerObj;
+import com.nano.candy.interpreter.builtin.type.JsonCodec;
 import com.nano.candy.interpreter.builtin.type.LockObj;
 import com.nano.candy.interpreter.builtin.type.MapObj;
 import com.nano.candy.interpreter.builtin.type.ModuleObj;
@@ -15,6 +21,7 @@ import com.nano.candy.interpreter.builtin.type.NumberObj;
 import com.nano.candy.interpreter.builtin.type.Range;
 import com.nano.candy.interpreter.builtin.type.StringObj;
 import com.nano.candy.interpreter.builtin.type.TupleObj;
+import com.nano.candy.interpreter.builtin.type.WriterObj;
 import com.nano.candy.interpreter.builtin.type.error.ArgumentError;
 import com.nano.candy.interpreter.builtin.type.error.AssertionError;
 import com.nano.candy.interpreter.builtin.type.error.AttributeError;
@@ -30,9 +37,12 @@ import com.nano.candy.interpreter.builtin.type.error.RangeError;
 import com.nano.candy.interpreter.builtin.type.error.StackOverflowError;
 import com.nano.candy.interpreter.builtin.type.error.StackTraceElementObj;
 import com.nano.candy.interpreter.builtin.type.error.StateError;
+import com.nano.candy.interpreter.builtin.type.error.TimeoutError;
 import com.nano.candy.interpreter.builtin.type.error.TypeError;
 import com.nano.candy.interpreter.cni.JavaFunctionObj;
 import com.nano.candy.interpreter.cni.NativeFuncRegister;
+import com.nano.candy.interpreter.runtime.CandyExecutor;
+import com.nano.candy.interpreter.runtime.CandyFuture;
 import com.nano.candy.interpreter.runtime.CandyThread;
 import com.nano.candy.interpreter.runtime.Variable;
 import java.util.HashMap;
@@ -54,6 +64,8 @@ public class BuiltinVariables {
 		defineBuiltinErrorClasses();
 		defineClass(CandyThread.THREAD_CLASS);
 		defineClass(LockObj.LOCK_CLASS);
+		defineClass(CandyExecutor.EXECUTOR_CLASS);
+		defineClass(CandyFuture.FUTURE_CLASS);
 		defineClass(Range.RANGE_CLASS);
 		defineClass(ArrayObj.ARRAY_CLASS);
 		defineClass(IntegerObj.INTEGER_CLASS);
@@ -64,7 +76,14 @@ public class BuiltinVariables {
 		defineClass(TupleObj.TUPLE_CLASS);
 		defineClass(ModuleObj.MOUDLE_CLASS);
 		defineClass(MapObj.MAP_CLASS);
+		defineClass(ConcurrentMapObj.CONCURRENT_MAP_CLASS);
+		defineClass(BlockingQueueObj.BLOCKING_QUEUE_CLASS);
+		defineClass(AtomicIntegerObj.ATOMIC_INTEGER_CLASS);
+		defineClass(AtomicRefObj.ATOMIC_REF_CLASS);
 		defineClass(FileObj.FILE_CLASS);
+		defineClass(WriterObj.WRITER_CLASS);
+		defineClass(ByteBufferObj.BYTE_BUFFER_CLASS);
+		defineClass(JsonCodec.JSON_CLASS);
 		defineClass(ObjectClass.getObjClass());
 	}
 	
@@ -83,6 +102,7 @@ public class BuiltinVariables {
 		defineClass(TypeError.TYPE_ERROR_CLASS);
 		defineClass(StateError.STATE_ERROR_CLASS);
 		defineClass(InterruptedError.INRERRUPTED_ERROR_CLASS);
+		defineClass(TimeoutError.TIMEOUT_ERROR_CLASS);
 		defineClass(OverrideError.OVERRIDE_ERROR_CLASS);
 
 		defineClass(StackTraceElementObj.STACK_TRACE_ELEMENT_CLASS);
@@ -1,14 +1,15 @@
 package com.nano.candy.interpreter.builtin;
 
 import com.nano.candy.interpreter.builtin.type.BoolObj;
+import com.nano.candy.interpreter.builtin.type.CallableObj;
 import com.nano.candy.interpreter.builtin.type.IntegerObj;
 import com.nano.candy.interpreter.builtin.type.MethodObj;
 import com.nano.candy.interpreter.builtin.type.StringObj;
 import com.nano.candy.interpreter.builtin.type.error.AttributeError;
 import com.nano.candy.interpreter.builtin.type.error.TypeError;
-import com.nano.candy.interpreter.builtin.utils.HashSymbolTable;
-import com.nano.candy.interpreter.builtin.utils.ObjAttribute;
 import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
+import com.nano.candy.interpreter.builtin.utils.Shape;
+import com.nano.candy.interpreter.builtin.utils.ShapedSymbolTable;
 import com.nano.candy.interpreter.builtin.utils.SymbolTable;
 import com.nano.candy.interpreter.cni.CNIEnv;
 import com.nano.candy.interpreter.cni.NativeClass;
@@ -57,6 +58,33 @@ public class CandyObject {
 	private static final int STR_MASK = 1 << 20;
 	private static final int ITERATOR_MASK = 1 << 21;
 	
+	/**
+	 * Whether a Java class keeps the default attribute accessors, i.e. 
+	 * it overrides neither {@code getAttr} nor {@code setAttr}.
+	 */
+	private static final ClassValue<Boolean> DEFAULT_ATTR_ACCESSORS = 
+		new ClassValue<Boolean>() {
+			@Override
+			protected Boolean computeValue(Class<?> type) {
+				for (; type != CandyObject.class; type = type.getSuperclass()) {
+					if (declares(type, "getAttr", CNIEnv.class, String.class) || 
+					    declares(type, "setAttr", CNIEnv.class, String.class, CandyObject.class)) {
+						return false;
+					}
+				}
+				return true;
+			}
+			
+			private boolean declares(Class<?> type, String name, Class<?>... params) {
+				try {
+					type.getDeclaredMethod(name, params);
+					return true;
+				} catch (NoSuchMethodException e) {
+					return false;
+				}
+			}
+		};
+	
 	private SymbolTable metaData = SymbolTable.empty();
 	
 	/**
@@ -219,13 +247,75 @@ public class CandyObject {
 	}
 	
 	protected SymbolTable providesSymbolTable() {
-		return new HashSymbolTable();
+		return new ShapedSymbolTable();
 	}
 	
 	public CandyObject getMetaData(String name) {
 		return metaData.get(name);
 	}
 	
+	/**
+	 * Returns the shape of the attributes of this object, or {@code null}
+	 * if the attributes of this object are in the dictionary mode.
+	 */
+	public final Shape getShape() {
+		return metaData.getShape();
+	}
+	
+	/**
+	 * Returns the index of the specified attribute, or {@code -1} if this
+	 * object has no such attribute.
+	 *
+	 * <p>This is provided for the inline caches of the evaluator which 
+	 * access the attributes directly once the default accessors of this 
+	 * object are known to be used. The index of an attribute is fixed
+	 * while the shape of this object is unchanged.
+	 */
+	public final int indexOfMetaData(String name) {
+		return metaData.indexOf(name);
+	}
+	
+	public final CandyObject getMetaDataAt(int index) {
+		return metaData.getValue(index);
+	}
+	
+	public final void setMetaDataAt(int index, CandyObject value) {
+		metaData.setValue(index, value);
+	}
+	
+	public final byte getMetaDataModifiersAt(int index) {
+		return metaData.getModifiers(index);
+	}
+	
+	/**
+	 * Returns {@code true} if the attributes of this object are read by
+	 * the default {@link #getAttr(CNIEnv, String)}, i.e. neither the Java
+	 * class nor the Candy class of this object overrides the getter.
+	 *
+	 * <p>The result only depends on the Java class and the Candy class
+	 * of this object.
+	 */
+	public final boolean hasDefaultAttrGetter() {
+		return DEFAULT_ATTR_ACCESSORS.get(getClass()) && 
+			isBuiltinClassMethod(Names.METHOD_GET_ATTR);
+	}
+	
+	/**
+	 * Returns {@code true} if the attributes of this object are changed 
+	 * by the default {@link #setAttr(CNIEnv, String, CandyObject)}.
+	 *
+	 * @see #hasDefaultAttrGetter()
+	 */
+	public final boolean hasDefaultAttrSetter() {
+		return DEFAULT_ATTR_ACCESSORS.get(getClass()) && 
+			isBuiltinClassMethod(Names.METHOD_SET_ATTR);
+	}
+	
+	private boolean isBuiltinClassMethod(String name) {
+		CallableObj method = getCandyClass().getMethod(name);
+		return method != null && method.isBuiltin();
+	}
+	
 	public CandyObject removeMetaData(String name) {
 		return metaData.remove(name);
 	}
@@ -280,12 +370,12 @@ public class CandyObject {
 		if (isAccessedFromThis) {
 			name = AttributeModifiers.getAttrNameIfAccessedFromThis(name);
 		}
-		ObjAttribute attr = metaData.getAttr(name);
-		if (attr == null) {
+		int index = metaData.indexOf(name);
+		if (index < 0) {
 			setMetaData(name, value);
 			return value;
 		}
-		byte modifiers = attr.getModifiers();
+		byte modifiers = metaData.getModifiers(index);
 		if (AttributeModifiers.isBuiltin(modifiers)) {
 			AttributeError.throwReadOnlyError(name);
 		}
@@ -293,7 +383,7 @@ public class CandyObject {
 		if (isAccessedFromThis) {
 			// Attributes modified by any modifiers can be changed from
 			// 'this'(keyword) except 'builtin'.
-			attr.setValue(value);
+			metaData.setValue(index, value);
 			return value;
 		}
 		if (AttributeModifiers.isPrivate(modifiers)) {
@@ -302,7 +392,7 @@ public class CandyObject {
 		if (AttributeModifiers.isReadOnly(modifiers)) {
 			AttributeError.throwReadOnlyError(name);
 		}
-		attr.setValue(value);
+		metaData.setValue(index, value);
 		return value;
 	}
 	@NativeMethod(name = Names.METHOD_SET_ATTR)
@@ -324,22 +414,22 @@ public class CandyObject {
 		if (isAccessFromThis) {
 			name = AttributeModifiers.getAttrNameIfAccessedFromThis(name);
 		}
-		ObjAttribute attr = metaData.getAttr(name);
-		if (attr == null) {
+		int index = metaData.indexOf(name);
+		if (index < 0) {
 			return getCandyClass().getBoundMethod(name, this);
 		}
 		if (isAccessFromThis) { 
 			// 'this' keyword has the highest access permission.
-			return attr.getValue();
+			return metaData.getValue(index);
 		}
-		byte modifiers = attr.getModifiers();
+		byte modifiers = metaData.getModifiers(index);
 		if (AttributeModifiers.isPrivate(modifiers)) {
 			AttributeError.throwHasNoAttr(this, name);
 		}
 		if (AttributeModifiers.isWriteOnly(modifiers)) {
 			AttributeError.throwWriteOnlyError(name);
 		}
-		return attr.getValue();
+		return metaData.getValue(index);
 	}
 	@NativeMethod(name = Names.METHOD_GET_ATTR)
 	protected final CandyObject getAttrMet(CNIEnv env, String name) {
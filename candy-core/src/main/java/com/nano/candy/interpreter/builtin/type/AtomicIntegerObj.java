@@ -0,0 +1,93 @@
+package com.nano.candy.interpreter.builtin.type;
+
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
+import com.nano.candy.interpreter.builtin.utils.OptionalArg;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+import com.nano.candy.interpreter.cni.NativeMethod;
+import com.nano.candy.std.Names;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An integer that may be updated atomically by multiple threads.
+ *
+ * <p>Integers of Candy are 64-bit, so the value is an {@link AtomicLong}.
+ */
+@NativeClass(name = "AtomicInteger", isInheritable = true)
+public final class AtomicIntegerObj extends CandyObject {
+
+	public static final CandyClass ATOMIC_INTEGER_CLASS =
+		NativeClassRegister.generateNativeClass(AtomicIntegerObj.class);
+
+	private final AtomicLong value;
+
+	protected AtomicIntegerObj() {
+		super(ATOMIC_INTEGER_CLASS);
+		this.value = new AtomicLong();
+	}
+
+	@NativeMethod(name = Names.METHOD_INITALIZER)
+	protected final CandyObject init(CNIEnv env, OptionalArg initialValue) {
+		value.set(ObjectHelper.asInteger(initialValue.getValue(0)));
+		return this;
+	}
+
+	@NativeMethod(name = "get")
+	public CandyObject get(CNIEnv env) {
+		return IntegerObj.valueOf(value.get());
+	}
+
+	@NativeMethod(name = "set")
+	public CandyObject set(CNIEnv env, long newValue) {
+		value.set(newValue);
+		return null;
+	}
+
+	@NativeMethod(name = "getAndSet")
+	public CandyObject getAndSet(CNIEnv env, long newValue) {
+		return IntegerObj.valueOf(value.getAndSet(newValue));
+	}
+
+	@NativeMethod(name = "incrementAndGet")
+	public CandyObject incrementAndGet(CNIEnv env) {
+		return IntegerObj.valueOf(value.incrementAndGet());
+	}
+
+	@NativeMethod(name = "decrementAndGet")
+	public CandyObject decrementAndGet(CNIEnv env) {
+		return IntegerObj.valueOf(value.decrementAndGet());
+	}
+
+	@NativeMethod(name = "getAndIncrement")
+	public CandyObject getAndIncrement(CNIEnv env) {
+		return IntegerObj.valueOf(value.getAndIncrement());
+	}
+
+	@NativeMethod(name = "getAndDecrement")
+	public CandyObject getAndDecrement(CNIEnv env) {
+		return IntegerObj.valueOf(value.getAndDecrement());
+	}
+
+	@NativeMethod(name = "addAndGet")
+	public CandyObject addAndGet(CNIEnv env, long delta) {
+		return IntegerObj.valueOf(value.addAndGet(delta));
+	}
+
+	@NativeMethod(name = "getAndAdd")
+	public CandyObject getAndAdd(CNIEnv env, long delta) {
+		return IntegerObj.valueOf(value.getAndAdd(delta));
+	}
+
+	@NativeMethod(name = "compareAndSet")
+	public CandyObject compareAndSet(CNIEnv env, long expect, long update) {
+		return BoolObj.valueOf(value.compareAndSet(expect, update));
+	}
+
+	@Override
+	public StringObj str(CNIEnv env) {
+		return StringObj.valueOf(String.valueOf(value.get()));
+	}
+}
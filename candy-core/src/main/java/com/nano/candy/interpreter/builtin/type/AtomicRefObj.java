@@ -0,0 +1,85 @@
+package com.nano.candy.interpreter.builtin.type;
+
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
+import com.nano.candy.interpreter.builtin.utils.OptionalArg;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+import com.nano.candy.interpreter.cni.NativeMethod;
+import com.nano.candy.std.Names;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An object reference that may be updated atomically by multiple threads.
+ *
+ * <p>{@code compareAndSet} compares the references by identity instead
+ * of calling {@code equals}.
+ */
+@NativeClass(name = "AtomicRef", isInheritable = true)
+public final class AtomicRefObj extends CandyObject {
+
+	public static final CandyClass ATOMIC_REF_CLASS =
+		NativeClassRegister.generateNativeClass(AtomicRefObj.class);
+
+	private final AtomicReference<CandyObject> ref;
+
+	protected AtomicRefObj() {
+		super(ATOMIC_REF_CLASS);
+		this.ref = new AtomicReference<>(NullPointer.nil());
+	}
+
+	@NativeMethod(name = Names.METHOD_INITALIZER)
+	protected final CandyObject init(CNIEnv env, OptionalArg initialValue) {
+		ref.set(initialValue.getValue(NullPointer.nil()));
+		return this;
+	}
+
+	@NativeMethod(name = "get")
+	public CandyObject get(CNIEnv env) {
+		return ref.get();
+	}
+
+	@NativeMethod(name = "set")
+	public CandyObject set(CNIEnv env, CandyObject newValue) {
+		ref.set(ObjectHelper.preventNull(newValue));
+		return null;
+	}
+
+	@NativeMethod(name = "getAndSet")
+	public CandyObject getAndSet(CNIEnv env, CandyObject newValue) {
+		return ref.getAndSet(ObjectHelper.preventNull(newValue));
+	}
+
+	@NativeMethod(name = "compareAndSet")
+	public CandyObject compareAndSet(CNIEnv env, CandyObject expect, CandyObject update) {
+		return BoolObj.valueOf(ref.compareAndSet(
+			ObjectHelper.preventNull(expect), ObjectHelper.preventNull(update)));
+	}
+
+	/**
+	 * Updates the reference with the result of the given function and
+	 * returns the new value.
+	 *
+	 * <p>The function may be called again if the reference is updated by
+	 * another thread in the meantime, so it should be free of side effects.
+	 */
+	@NativeMethod(name = "updateAndGet")
+	public CandyObject updateAndGet(CNIEnv env, CallableObj fn) {
+		while (true) {
+			CandyObject prev = ref.get();
+			CandyObject next = ObjectHelper.preventNull(
+				ObjectHelper.callFunction(env, fn, prev));
+			if (ref.compareAndSet(prev, next)) {
+				return next;
+			}
+		}
+	}
+
+	@Override
+	public StringObj str(CNIEnv env) {
+		return StringObj.valueOf(ObjectHelper.toString(
+			getCandyClassName(), "%s", ref.get().callStr(env).value()));
+	}
+}
@@ -0,0 +1,130 @@
+package com.nano.candy.interpreter.builtin.type;
+
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.error.ArgumentError;
+import com.nano.candy.interpreter.builtin.type.error.InterruptedError;
+import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
+import com.nano.candy.interpreter.builtin.utils.OptionalArg;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+import com.nano.candy.interpreter.cni.NativeMethod;
+import com.nano.candy.std.Names;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A FIFO queue for passing objects between threads.
+ *
+ * <p>The queue is optionally bounded, {@code put} blocks while a bounded
+ * queue is full and {@code take} blocks while the queue is empty. The
+ * timeouts of {@code offer} and {@code poll} are in milliseconds.
+ */
+@NativeClass(name = "BlockingQueue", isInheritable = true)
+public final class BlockingQueueObj extends CandyObject {
+
+	public static final CandyClass BLOCKING_QUEUE_CLASS =
+		NativeClassRegister.generateNativeClass(BlockingQueueObj.class);
+
+	private LinkedBlockingQueue<CandyObject> queue;
+
+	protected BlockingQueueObj() {
+		super(BLOCKING_QUEUE_CLASS);
+	}
+
+	@NativeMethod(name = Names.METHOD_INITALIZER)
+	protected final CandyObject init(CNIEnv env, OptionalArg capacity) {
+		long c = ObjectHelper.asInteger(capacity.getValue(Integer.MAX_VALUE));
+		if (c <= 0 || c > Integer.MAX_VALUE) {
+			new ArgumentError("Illegal capacity: " + c).throwSelfNative();
+		}
+		this.queue = new LinkedBlockingQueue<>((int) c);
+		return this;
+	}
+
+	@NativeMethod(name = "put")
+	public CandyObject put(CNIEnv env, CandyObject e) {
+		try {
+			queue.put(ObjectHelper.preventNull(e));
+		} catch (InterruptedException ex) {
+			new InterruptedError(ex).throwSelfNative();
+		}
+		return null;
+	}
+
+	@NativeMethod(name = "offer")
+	public CandyObject offer(CNIEnv env, CandyObject e, OptionalArg timeout) {
+		e = ObjectHelper.preventNull(e);
+		if (!timeout.isPresent()) {
+			return BoolObj.valueOf(queue.offer(e));
+		}
+		long ms = ObjectHelper.asInteger(timeout.getValue(0));
+		try {
+			return BoolObj.valueOf(queue.offer(e, ms, TimeUnit.MILLISECONDS));
+		} catch (InterruptedException ex) {
+			new InterruptedError(ex).throwSelfNative();
+		}
+		return null;
+	}
+
+	@NativeMethod(name = "take")
+	public CandyObject take(CNIEnv env) {
+		try {
+			return queue.take();
+		} catch (InterruptedException ex) {
+			new InterruptedError(ex).throwSelfNative();
+		}
+		return null;
+	}
+
+	/**
+	 * Removes and returns the head of this queue, or null if the queue is
+	 * still empty after the timeout.
+	 */
+	@NativeMethod(name = "poll")
+	public CandyObject poll(CNIEnv env, OptionalArg timeout) {
+		if (!timeout.isPresent()) {
+			return queue.poll();
+		}
+		long ms = ObjectHelper.asInteger(timeout.getValue(0));
+		try {
+			return queue.poll(ms, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException ex) {
+			new InterruptedError(ex).throwSelfNative();
+		}
+		return null;
+	}
+
+	@NativeMethod(name = "peek")
+	public CandyObject peek(CNIEnv env) {
+		return queue.peek();
+	}
+
+	@NativeMethod(name = "remainingCapacity")
+	public CandyObject remainingCapacity(CNIEnv env) {
+		return IntegerObj.valueOf(queue.remainingCapacity());
+	}
+
+	@NativeMethod(name = "length")
+	public CandyObject size(CNIEnv env) {
+		return IntegerObj.valueOf(queue.size());
+	}
+
+	@NativeMethod(name = "isEmpty")
+	public CandyObject isEmpty(CNIEnv env) {
+		return BoolObj.valueOf(queue.isEmpty());
+	}
+
+	@NativeMethod(name = "clear")
+	public CandyObject clear(CNIEnv env) {
+		queue.clear();
+		return null;
+	}
+
+	@Override
+	public StringObj str(CNIEnv env) {
+		return StringObj.valueOf(ObjectHelper.toString(
+			getCandyClassName(), "length: %d", queue.size()));
+	}
+}
@@ -0,0 +1,348 @@
+package com.nano.candy.interpreter.builtin.type;
+
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.error.ArgumentError;
+import com.nano.candy.interpreter.builtin.type.error.IOError;
+import com.nano.candy.interpreter.builtin.type.error.RangeError;
+import com.nano.candy.interpreter.builtin.type.error.StateError;
+import com.nano.candy.interpreter.builtin.type.error.TypeError;
+import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
+import com.nano.candy.interpreter.builtin.utils.OptionalArg;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+import com.nano.candy.interpreter.cni.NativeFunc;
+import com.nano.candy.interpreter.cni.NativeFuncRegister;
+import com.nano.candy.interpreter.cni.NativeMethod;
+import com.nano.candy.std.Names;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A fixed-size sequence of bytes for reading and writing binary data.
+ *
+ * <p>A buffer is either allocated in memory by {@code ByteBuffer(size)}
+ * or mapped from a file by {@code ByteBuffer.map(path)}. The content of
+ * a mapped buffer is not copied into the heap, it's paged in by the
+ * operating system when it's accessed.
+ *
+ * <p>All the reads and writes take an absolute offset, a buffer has no
+ * position. The multi-byte values are big-endian by default, it can be
+ * changed by {@code order("little")}. A slice shares the content with
+ * the buffer it's sliced from.
+ */
+@NativeClass(name = "ByteBuffer", isInheritable = true)
+public class ByteBufferObj extends CandyObject {
+
+	public static final CandyClass BYTE_BUFFER_CLASS =
+		NativeClassRegister.generateNativeClass(ByteBufferObj.class);
+	static {
+		NativeFuncRegister.register(BYTE_BUFFER_CLASS, ByteBufferObj.class);
+	}
+
+	/**
+	 * Maps a file into a buffer.
+	 *
+	 * <p>The {@code mode} is "r" (default) or "rw". In the "rw" mode the
+	 * writes to the buffer are written to the file, and if the {@code size}
+	 * is given the file is created or extended to the size.
+	 */
+	@NativeFunc(name = "map")
+	public static CandyObject map(CNIEnv env, StringObj path, OptionalArg mode,
+	                              OptionalArg size) {
+		String m = TypeError.requiresStringObj(mode.getValue("r")).value();
+		boolean writable;
+		if ("r".equals(m)) {
+			writable = false;
+		} else if ("rw".equals(m)) {
+			writable = true;
+		} else {
+			new ArgumentError("Illegal mode: %s", m).throwSelfNative();
+			return null;
+		}
+		try (FileChannel channel = writable ?
+			FileChannel.open(Paths.get(path.value()), StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.CREATE) :
+			FileChannel.open(Paths.get(path.value()), StandardOpenOption.READ)) {
+			long length = channel.size();
+			if (size.isPresent()) {
+				length = ObjectHelper.asInteger(size.getValue(0));
+				if (length < 0 || (!writable && length > channel.size())) {
+					new ArgumentError("Illegal size: %d", length).throwSelfNative();
+				}
+			}
+			if (length > Integer.MAX_VALUE) {
+				new IOError("The file is too large to be mapped: %s", path.value())
+					.throwSelfNative();
+			}
+			MappedByteBuffer buffer = channel.map(writable ?
+				FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+				0, length);
+			return new ByteBufferObj(buffer);
+		} catch (IOException e) {
+			new IOError(e).throwSelfNative();
+		}
+		return null;
+	}
+
+	private ByteBuffer buffer;
+
+	protected ByteBufferObj() {
+		super(BYTE_BUFFER_CLASS);
+	}
+
+	public ByteBufferObj(ByteBuffer buffer) {
+		super(BYTE_BUFFER_CLASS);
+		this.buffer = buffer;
+	}
+
+	@NativeMethod(name = Names.METHOD_INITALIZER)
+	protected final CandyObject init(CNIEnv env, long size) {
+		if (size < 0 || size > Integer.MAX_VALUE) {
+			new ArgumentError("Illegal size: %d", size).throwSelfNative();
+		}
+		this.buffer = ByteBuffer.allocate((int) size);
+		return this;
+	}
+
+	/**
+	 * Returns the offset as an int if the {@code width} bytes from the
+	 * offset are in this buffer.
+	 */
+	private int checkRange(long offset, long width) {
+		if (offset < 0 || width < 0 || width > buffer.capacity() - offset) {
+			new RangeError(
+				"out of range: offset %d, length %d, size %d.",
+				offset, width, buffer.capacity()
+			).throwSelfNative();
+		}
+		return (int) offset;
+	}
+
+	private void checkWritable() {
+		if (buffer.isReadOnly()) {
+			new StateError("The buffer is read-only.").throwSelfNative();
+		}
+	}
+
+	@NativeMethod(name = "length")
+	public CandyObject length(CNIEnv env) {
+		return IntegerObj.valueOf(buffer.capacity());
+	}
+
+	@NativeMethod(name = "isReadOnly")
+	public CandyObject isReadOnly(CNIEnv env) {
+		return BoolObj.valueOf(buffer.isReadOnly());
+	}
+
+	/**
+	 * Sets the byte order of this buffer, "big" or "little".
+	 */
+	@NativeMethod(name = "order")
+	public CandyObject order(CNIEnv env, String order) {
+		if ("big".equals(order)) {
+			buffer.order(ByteOrder.BIG_ENDIAN);
+		} else if ("little".equals(order)) {
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+		} else {
+			new ArgumentError("Illegal byte order: %s", order).throwSelfNative();
+		}
+		return this;
+	}
+
+	/**
+	 * Returns a buffer that shares the specified range of the content of
+	 * this buffer, the content is not copied.
+	 */
+	@NativeMethod(name = "slice")
+	public CandyObject slice(CNIEnv env, long offset, long length) {
+		int start = checkRange(offset, length);
+		ByteBuffer dup = buffer.duplicate();
+		dup.position(start).limit(start + (int) length);
+		return new ByteBufferObj(dup.slice().order(buffer.order()));
+	}
+
+	@NativeMethod(name = "getInt8")
+	public CandyObject getInt8(CNIEnv env, long offset) {
+		return IntegerObj.valueOf(buffer.get(checkRange(offset, 1)));
+	}
+
+	@NativeMethod(name = "getUint8")
+	public CandyObject getUint8(CNIEnv env, long offset) {
+		return IntegerObj.valueOf(buffer.get(checkRange(offset, 1)) & 0xFF);
+	}
+
+	@NativeMethod(name = "getInt16")
+	public CandyObject getInt16(CNIEnv env, long offset) {
+		return IntegerObj.valueOf(buffer.getShort(checkRange(offset, 2)));
+	}
+
+	@NativeMethod(name = "getUint16")
+	public CandyObject getUint16(CNIEnv env, long offset) {
+		return IntegerObj.valueOf(buffer.getShort(checkRange(offset, 2)) & 0xFFFF);
+	}
+
+	@NativeMethod(name = "getInt32")
+	public CandyObject getInt32(CNIEnv env, long offset) {
+		return IntegerObj.valueOf(buffer.getInt(checkRange(offset, 4)));
+	}
+
+	@NativeMethod(name = "getUint32")
+	public CandyObject getUint32(CNIEnv env, long offset) {
+		return IntegerObj.valueOf(buffer.getInt(checkRange(offset, 4)) & 0xFFFFFFFFL);
+	}
+
+	@NativeMethod(name = "getInt64")
+	public CandyObject getInt64(CNIEnv env, long offset) {
+		return IntegerObj.valueOf(buffer.getLong(checkRange(offset, 8)));
+	}
+
+	@NativeMethod(name = "getFloat32")
+	public CandyObject getFloat32(CNIEnv env, long offset) {
+		return DoubleObj.valueOf(buffer.getFloat(checkRange(offset, 4)));
+	}
+
+	@NativeMethod(name = "getFloat64")
+	public CandyObject getFloat64(CNIEnv env, long offset) {
+		return DoubleObj.valueOf(buffer.getDouble(checkRange(offset, 8)));
+	}
+
+	@NativeMethod(name = "setInt8")
+	public CandyObject setInt8(CNIEnv env, long offset, long value) {
+		checkWritable();
+		buffer.put(checkRange(offset, 1), (byte) value);
+		return this;
+	}
+
+	@NativeMethod(name = "setInt16")
+	public CandyObject setInt16(CNIEnv env, long offset, long value) {
+		checkWritable();
+		buffer.putShort(checkRange(offset, 2), (short) value);
+		return this;
+	}
+
+	@NativeMethod(name = "setInt32")
+	public CandyObject setInt32(CNIEnv env, long offset, long value) {
+		checkWritable();
+		buffer.putInt(checkRange(offset, 4), (int) value);
+		return this;
+	}
+
+	@NativeMethod(name = "setInt64")
+	public CandyObject setInt64(CNIEnv env, long offset, long value) {
+		checkWritable();
+		buffer.putLong(checkRange(offset, 8), value);
+		return this;
+	}
+
+	@NativeMethod(name = "setFloat32")
+	public CandyObject setFloat32(CNIEnv env, long offset, double value) {
+		checkWritable();
+		buffer.putFloat(checkRange(offset, 4), (float) value);
+		return this;
+	}
+
+	@NativeMethod(name = "setFloat64")
+	public CandyObject setFloat64(CNIEnv env, long offset, double value) {
+		checkWritable();
+		buffer.putDouble(checkRange(offset, 8), value);
+		return this;
+	}
+
+	/**
+	 * Decodes the specified range of this buffer as a UTF-8 string.
+	 */
+	@NativeMethod(name = "getString")
+	public CandyObject getString(CNIEnv env, long offset, long length) {
+		int start = checkRange(offset, length);
+		byte[] bytes = new byte[(int) length];
+		ByteBuffer dup = buffer.duplicate();
+		dup.position(start);
+		dup.get(bytes);
+		return StringObj.valueOf(new String(bytes, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Writes the UTF-8 bytes of the specified string at the offset and
+	 * returns the number of the written bytes.
+	 */
+	@NativeMethod(name = "setString")
+	public CandyObject setString(CNIEnv env, long offset, String str) {
+		checkWritable();
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		int start = checkRange(offset, bytes.length);
+		ByteBuffer dup = buffer.duplicate();
+		dup.position(start);
+		dup.put(bytes);
+		return IntegerObj.valueOf(bytes.length);
+	}
+
+	/**
+	 * Returns the offset of the first occurrence of the pattern from the
+	 * specified offset, or -1 if the pattern is not found.
+	 *
+	 * <p>The pattern is a byte (an integer) or a string that is searched
+	 * as UTF-8 bytes.
+	 */
+	@NativeMethod(name = "indexOf")
+	public CandyObject indexOf(CNIEnv env, CandyObject pattern, OptionalArg from) {
+		byte[] bytes;
+		if (pattern instanceof IntegerObj) {
+			bytes = new byte[]{(byte) ((IntegerObj) pattern).intValue()};
+		} else {
+			bytes = TypeError.requiresStringObj(pattern).value()
+				.getBytes(StandardCharsets.UTF_8);
+		}
+		long start = ObjectHelper.asInteger(from.getValue(0));
+		if (start < 0) {
+			start = 0;
+		}
+		return IntegerObj.valueOf(indexOf(bytes, start));
+	}
+
+	private long indexOf(byte[] pattern, long from) {
+		final int size = buffer.capacity();
+		if (pattern.length == 0) {
+			return from <= size ? from : -1;
+		}
+		final byte first = pattern[0];
+		final int last = size - pattern.length;
+		search: for (long i = from; i <= last; i ++) {
+			int index = (int) i;
+			if (buffer.get(index) != first) {
+				continue;
+			}
+			for (int j = 1; j < pattern.length; j ++) {
+				if (buffer.get(index + j) != pattern[j]) {
+					continue search;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Writes the changes of a mapped buffer to the file.
+	 */
+	@NativeMethod(name = "force")
+	public CandyObject force(CNIEnv env) {
+		if (buffer instanceof MappedByteBuffer && !buffer.isReadOnly()) {
+			((MappedByteBuffer) buffer).force();
+		}
+		return this;
+	}
+
+	@Override
+	public StringObj str(CNIEnv env) {
+		return StringObj.valueOf(ObjectHelper.toString(
+			getCandyClassName(), "length %d", buffer.capacity()));
+	}
+}
@@ -0,0 +1,276 @@
+package com.nano.candy.interpreter.builtin.type;
+
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.error.ArgumentError;
+import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
+import com.nano.candy.interpreter.builtin.utils.OptionalArg;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+import com.nano.candy.interpreter.cni.NativeMethod;
+import com.nano.candy.std.Names;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A map that can be shared by multiple threads without locks.
+ *
+ * <p>The keys are hashed and compared in the same way as {@link MapObj},
+ * by calling {@code hashCode} and {@code equals} of the keys. The
+ * entries are stored in a {@link ConcurrentHashMap}, so the readers never
+ * block and the writers only lock a single bin of the table.
+ *
+ * <p>The iterator of this map is weakly consistent, it never raises
+ * errors when the map is modified by other threads during the iteration.
+ */
+@NativeClass(name = "ConcurrentMap", isInheritable = true)
+public final class ConcurrentMapObj extends CandyObject {
+
+	public static final CandyClass CONCURRENT_MAP_CLASS =
+		NativeClassRegister.generateNativeClass(ConcurrentMapObj.class);
+
+	private static final int DEFAULT_INIT_CAPACITY = 16;
+
+	/**
+	 * The Candy key of the map.
+	 *
+	 * <p>{@code ConcurrentHashMap} always calls {@code equals} on the key
+	 * passed in by the caller, so the environment of the calling thread is
+	 * attached to the lookup key during a single operation and is detached
+	 * once the operation is finished. A stored key holds no environment.
+	 */
+	private static final class Key {
+		final CandyObject obj;
+		final int hash;
+		CNIEnv env;
+
+		Key(CNIEnv env, CandyObject obj) {
+			this.obj = obj;
+			this.hash = (int) obj.callHashCode(env).value;
+			this.env = env;
+		}
+
+		Key detach() {
+			this.env = null;
+			return this;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			if (hash != key.hash) {
+				return false;
+			}
+			if (obj == key.obj) {
+				return true;
+			}
+			return env != null && obj.callEquals(env, key.obj).value();
+		}
+	}
+
+	private ConcurrentHashMap<Key, CandyObject> map;
+
+	protected ConcurrentMapObj() {
+		super(CONCURRENT_MAP_CLASS);
+	}
+
+	public ConcurrentMapObj(long initCapacity) {
+		super(CONCURRENT_MAP_CLASS);
+		setInitCapacity(initCapacity);
+	}
+
+	private void setInitCapacity(long initCapacity) {
+		if (initCapacity < 0 || initCapacity > Integer.MAX_VALUE) {
+			new ArgumentError("Illegal inital capacity: " + initCapacity)
+				.throwSelfNative();
+		}
+		this.map = new ConcurrentHashMap<>((int) initCapacity);
+	}
+
+	public CandyObject get(CNIEnv env, CandyObject key) {
+		Key k = new Key(env, key);
+		try {
+			return map.get(k);
+		} finally {
+			k.detach();
+		}
+	}
+
+	public CandyObject getOrDefault(CNIEnv env, CandyObject key, CandyObject def) {
+		CandyObject value = get(env, key);
+		return value == null ? def : value;
+	}
+
+	public CandyObject put(CNIEnv env, CandyObject key, CandyObject value) {
+		Key k = new Key(env, key);
+		try {
+			return map.put(k, ObjectHelper.preventNull(value));
+		} finally {
+			k.detach();
+		}
+	}
+
+	public CandyObject putIfAbsent(CNIEnv env, CandyObject key, CandyObject value) {
+		Key k = new Key(env, key);
+		try {
+			return map.putIfAbsent(k, ObjectHelper.preventNull(value));
+		} finally {
+			k.detach();
+		}
+	}
+
+	public CandyObject remove(CNIEnv env, CandyObject key) {
+		Key k = new Key(env, key);
+		try {
+			return map.remove(k);
+		} finally {
+			k.detach();
+		}
+	}
+
+	public boolean contains(CNIEnv env, CandyObject key) {
+		return get(env, key) != null;
+	}
+
+	@Override
+	protected final CandyObject getItem(CNIEnv env, CandyObject key) {
+		return ObjectHelper.preventNull(get(env, key));
+	}
+
+	@Override
+	protected final CandyObject setItem(CNIEnv env, CandyObject key, CandyObject value) {
+		put(env, key, value);
+		return value;
+	}
+
+	@NativeMethod(name = Names.METHOD_INITALIZER)
+	protected final CandyObject init(CNIEnv env, OptionalArg initialCapacity) {
+		setInitCapacity(ObjectHelper.asInteger(
+			initialCapacity.getValue(DEFAULT_INIT_CAPACITY)));
+		return this;
+	}
+
+	@NativeMethod(name = "get")
+	protected final CandyObject getMet(CNIEnv env, CandyObject key) {
+		return get(env, key);
+	}
+
+	@NativeMethod(name = "getOrDefault")
+	protected final CandyObject getOrDefaultMet(CNIEnv env, CandyObject key, CandyObject defaultValue) {
+		return getOrDefault(env, key, defaultValue);
+	}
+
+	@NativeMethod(name = "put")
+	protected final CandyObject putMet(CNIEnv env, CandyObject key, CandyObject value) {
+		return put(env, key, value);
+	}
+
+	@NativeMethod(name = "putIfAbsent")
+	protected final CandyObject putIfAbsentMet(CNIEnv env, CandyObject key, CandyObject value) {
+		return putIfAbsent(env, key, value);
+	}
+
+	/**
+	 * Returns the value of the specified key, the value is computed by
+	 * the given function and put into this map if the key is absent.
+	 *
+	 * <p>The function is called without holding any lock, so it may be
+	 * called by several threads for the same key at the same time, but
+	 * only the first stored value is kept and returned to all of them.
+	 */
+	@NativeMethod(name = "computeIfAbsent")
+	protected final CandyObject computeIfAbsent(CNIEnv env, CandyObject key, CallableObj fn) {
+		CandyObject value = get(env, key);
+		if (value != null) {
+			return value;
+		}
+		value = ObjectHelper.callFunction(env, fn, key);
+		CandyObject previous = putIfAbsent(env, key, value);
+		return previous == null ? ObjectHelper.preventNull(value) : previous;
+	}
+
+	@NativeMethod(name = "remove")
+	protected final CandyObject removeMet(CNIEnv env, CandyObject key) {
+		return remove(env, key);
+	}
+
+	@NativeMethod(name = "contains")
+	protected final CandyObject containsMet(CNIEnv env, CandyObject key) {
+		return BoolObj.valueOf(contains(env, key));
+	}
+
+	@NativeMethod(name = "length")
+	protected final CandyObject size(CNIEnv env) {
+		return IntegerObj.valueOf(map.size());
+	}
+
+	@NativeMethod(name = "isEmpty")
+	protected final CandyObject isEmpty(CNIEnv env) {
+		return BoolObj.valueOf(map.isEmpty());
+	}
+
+	@NativeMethod(name = "clear")
+	protected final CandyObject clear(CNIEnv env) {
+		map.clear();
+		return null;
+	}
+
+	@Override
+	public StringObj str(CNIEnv env) {
+		Iterator<Map.Entry<Key, CandyObject>> i = map.entrySet().iterator();
+		if (!i.hasNext()) {
+			return StringObj.valueOf("{}");
+		}
+		StringBuilder builder = new StringBuilder("{");
+		while (true) {
+			Map.Entry<Key, CandyObject> entry = i.next();
+			String key = entry.getKey().obj.callStr(env).value();
+			String value = entry.getValue().callStr(env).value();
+			builder.append(key).append(": ").append(value);
+			if (!i.hasNext()) {
+				return StringObj.valueOf(builder.append("}").toString());
+			}
+			builder.append(", ");
+		}
+	}
+
+	@Override
+	public CandyObject iterator(CNIEnv env) {
+		return new EntryIterator(map.entrySet().iterator());
+	}
+
+	private static class EntryIterator extends IteratorObj {
+
+		private Iterator<Map.Entry<Key, CandyObject>> iterator;
+
+		public EntryIterator(Iterator<Map.Entry<Key, CandyObject>> iterator) {
+			this.iterator = iterator;
+		}
+
+		@Override
+		public boolean hasNext(CNIEnv env) {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public CandyObject next(CNIEnv env) {
+			Map.Entry<Key, CandyObject> entry = iterator.next();
+			return new TupleObj(new CandyObject[]{
+				entry.getKey().obj, entry.getValue()
+			});
+		}
+	}
+}
@@ -0,0 +1,192 @@
+package com.nano.candy.interpreter.builtin.type;
+
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.error.IOError;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.JavaFunctionObj;
+import com.nano.candy.interpreter.runtime.OperandStack;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * An iterator that reads a file incrementally, so only the current
+ * element is kept in memory however large the file is.
+ *
+ * <p>The file is opened when the iterator is created and is closed
+ * automatically when the iterator is exhausted or an error is raised.
+ * An iterator that is abandoned before the end must be closed by its
+ * {@code close()} method.
+ */
+public abstract class FileIterator extends IteratorObj {
+
+	/**
+	 * The size of the buffer of the channel reader in bytes.
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Iterates over the lines of a file, the line terminators are not
+	 * included in the lines.
+	 */
+	public static class LineIterator extends FileIterator {
+
+		public LineIterator(Path path) {
+			super(path);
+		}
+
+		@Override
+		protected String readNext(BufferedReader reader) throws IOException {
+			return reader.readLine();
+		}
+	}
+
+	/**
+	 * Iterates over the chunks of a file, each chunk contains the
+	 * specified number of characters except the last one.
+	 */
+	public static class ChunkIterator extends FileIterator {
+
+		private final int chunkSize;
+
+		/**
+		 * The buffer starts small and grows up to the chunk size as the
+		 * file is read, so a large chunk size doesn't allocate a large
+		 * buffer for a small file.
+		 */
+		private char[] buffer;
+
+		public ChunkIterator(Path path, int chunkSize) {
+			super(path);
+			this.chunkSize = chunkSize;
+			this.buffer = new char[Math.min(chunkSize, BUFFER_SIZE)];
+		}
+
+		@Override
+		protected String readNext(BufferedReader reader) throws IOException {
+			int n = 0;
+			while (n < chunkSize) {
+				if (n == buffer.length) {
+					buffer = Arrays.copyOf(buffer, 
+						(int) Math.min(chunkSize, buffer.length*2L));
+				}
+				int count = reader.read(buffer, n, buffer.length-n);
+				if (count < 0) {
+					break;
+				}
+				n += count;
+			}
+			return n == 0 ? null : new String(buffer, 0, n);
+		}
+	}
+
+	private final JavaFunctionObj close;
+
+	private BufferedReader reader;
+
+	/**
+	 * The element returned by the next {@code next()}, or null if the
+	 * iterator is exhausted.
+	 */
+	private String nextElement;
+	private boolean fetched;
+
+	protected FileIterator(Path path) {
+		close = new JavaFunctionObj(
+			"Iterator", "close", 0, this::close
+		);
+		try {
+			this.reader = new BufferedReader(Channels.newReader(
+				Files.newByteChannel(path, StandardOpenOption.READ),
+				StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE
+			));
+		} catch (IOException e) {
+			new IOError(e).throwSelfNative();
+		}
+	}
+
+	/**
+	 * Returns the next element, or null if the end of the file has
+	 * been reached.
+	 */
+	protected abstract String readNext(BufferedReader reader) throws IOException;
+
+	private void fetch() {
+		if (fetched) {
+			return;
+		}
+		fetched = true;
+		if (reader == null) {
+			return;
+		}
+		try {
+			nextElement = readNext(reader);
+		} catch (IOException e) {
+			close();
+			new IOError(e).throwSelfNative();
+		}
+		if (nextElement == null) {
+			close();
+		}
+	}
+
+	public void close() {
+		if (reader == null) {
+			return;
+		}
+		try {
+			reader.close();
+		} catch (IOException e) {
+			// Nothing to do, the data has been read.
+		} finally {
+			reader = null;
+		}
+	}
+
+	public final CandyObject close(CNIEnv env, OperandStack opStack) {
+		close();
+		nextElement = null;
+		fetched = true;
+		return null;
+	}
+
+	@Override
+	public CandyObject getAttr(CNIEnv env, String attr) {
+		if ("close".equals(attr)) {
+			return close;
+		}
+		return super.getAttr(env, attr);
+	}
+
+	/**
+	 * Returns this iterator itself, so that it can be used in the
+	 * for-in loops directly.
+	 */
+	@Override
+	public CandyObject iterator(CNIEnv env) {
+		return this;
+	}
+
+	@Override
+	public final boolean hasNext(CNIEnv env) {
+		fetch();
+		return nextElement != null;
+	}
+
+	@Override
+	public final CandyObject next(CNIEnv env) {
+		fetch();
+		if (nextElement == null) {
+			return null;
+		}
+		fetched = false;
+		String element = nextElement;
+		nextElement = null;
+		return StringObj.valueOf(element);
+	}
+}
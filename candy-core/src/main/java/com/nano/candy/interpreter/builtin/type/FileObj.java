@@ -10,6 +10,8 @@ import com.nano.candy.interpreter.builtin.type.StringObj;
 import com.nano.candy.interpreter.builtin.type.error.ArgumentError;
 import com.nano.candy.interpreter.builtin.type.error.IOError;
 import com.nano.candy.interpreter.builtin.type.error.TypeError;
+import com.nano.candy.interpreter.builtin.utils.FileTreeOperations;
+import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
 import com.nano.candy.interpreter.builtin.utils.OptionalArg;
 import com.nano.candy.interpreter.cni.CNIEnv;
 import com.nano.candy.interpreter.cni.NativeClass;
@@ -17,8 +19,9 @@ import com.nano.candy.interpreter.cni.NativeClassRegister;
 import com.nano.candy.interpreter.cni.NativeFunc;
 import com.nano.candy.interpreter.cni.NativeFuncRegister;
 import com.nano.candy.interpreter.cni.NativeMethod;
+import com.nano.candy.interpreter.runtime.CarrierErrorException;
+import com.nano.candy.interpreter.runtime.ContinueRunException;
 import com.nano.candy.std.Names;
-import com.nano.common.io.FilePathUtils;
 import com.nano.common.io.FileUtils;
 import com.nano.common.io.IOUtils;
 import java.io.BufferedWriter;
@@ -174,31 +177,37 @@ public class FileObj extends CandyObject {
 	/**
 	 * Removes a file or a directory.
 	 *
-	 * @param isRecursion This is an optional argument. If true,
-	 *                    it will recursively delete the file or directory.
+	 * @param options This is an optional argument. If it's true, it will 
+	 *                recursively delete the file or directory. It can also
+	 *                be a string which may include any character of the
+	 *                following:
+	 *
+	 * <pre>
+	 * 1. 'r': It's 'recursion'.
+	 * 2. 'p': It's 'parallel'. If it's present, the directory will be
+	 *         deleted recursively by multiple threads.
+	 * </pre>
 	 */
 	@NativeFunc(name="rm")
-	public static CandyObject rm(CNIEnv env, StringObj path, OptionalArg isRecursion) {
-		boolean recursion = isRecursion.getValue(false).boolValue(env).value();
+	public static CandyObject rm(CNIEnv env, StringObj path, OptionalArg options) {
+		boolean recursion, parallel = false;
+		CandyObject arg = options.getValue(false);
+		if (arg instanceof StringObj) {
+			String ops = ((StringObj) arg).value();
+			parallel = ops.indexOf('p') != -1;
+			recursion = parallel || ops.indexOf('r') != -1;
+		} else {
+			recursion = arg.boolValue(env).value();
+		}
 		File f = new File(path.value());
 		if (recursion) {
-			return BoolObj.valueOf(deleteDir(f));
+			return BoolObj.valueOf(
+				FileTreeOperations.deleteTree(f.toPath(), parallel));
 		} else {
 			return BoolObj.valueOf(f.delete());
 		}
 	}
 
-	private static boolean deleteDir(File f) {
-		boolean success = true;
-		if (f.isDirectory()) {
-			for (File subfile : f.listFiles()) {
-				success &= deleteDir(subfile);
-			}
-		}
-		success &= f.delete();
-		return success;
-	}
-	
 	/**
 	 * Copy a file/directory to another file/directory.
 	 *
@@ -209,18 +218,21 @@ public class FileObj extends CandyObject {
 	 *         another directory.
 	 * 2, 'f': It's 'force'. If it's present, you can replace old files with new
 	 *         files.
+	 * 3. 'p': It's 'parallel'. If it's present, the directory will be copied
+	 *         by multiple threads.
 	 * </pre>
 	 */
 	@NativeFunc(name="cp")
 	public static CandyObject cp(CNIEnv env, StringObj srcPath, StringObj destPath, 
 	                             OptionalArg options) {
-		boolean recursion = false, replace = false;
+		boolean recursion = false, replace = false, parallel = false;
 		String ops = options.getValue("").callStr(env).value();
 		int len = ops.length();
 		for (int i = 0; i < len; i ++) {
 			char ch = ops.charAt(i);
 			if (ch == 'r') recursion = true;
 			else if (ch == 'f') replace = true;
+			else if (ch == 'p') parallel = true;
 		}
 		File src = new File(srcPath.value());
 		File dest = new File(destPath.value());
@@ -239,7 +251,9 @@ public class FileObj extends CandyObject {
 			}
 		} else {
 			try {
-				deepCopy(src, dest, replace);
+				deepCopy(src, dest, replace, parallel);
+			} catch (FileAlreadyExistsException e) {
+				throwFileAlreadyExists(e);
 			} catch (IOException e) {
 				throwIOError(e);
 			}
@@ -247,62 +261,42 @@ public class FileObj extends CandyObject {
 		return null;
 	}
 
-	public static void deepCopy(File src, File dest, boolean replace) throws IOException {
-		checkArgumentsForCopy(src, dest, replace);
-		String srcRootPath = src.getParentFile().getAbsolutePath();
-		String destRootPath = dest.getAbsolutePath();
-		
-		List<File> files = FilePathUtils.getFilesByBfsOrder(src);
-		for (File file : files) {
-			String relativePath = FilePathUtils.getRelativePathOf(
-				file.getAbsolutePath(), 
-				srcRootPath
-			);
-			File newFile = new File(destRootPath, relativePath);
-			if (file.isDirectory()) {
-				newFile.mkdirs();
-			} else {
-				fastCopyFile(file, newFile, replace);
-			}
-		}
-	}
-
-	private static void checkArgumentsForCopy(File src, File dest, boolean replace) 
-		throws IOException {
+	private static void deepCopy(File src, File dest, boolean replace, 
+	                             boolean parallel) throws IOException {
 		if (!src.exists()) {
 			throw new IOException("The source file doesn't exist: " + src.getAbsolutePath());
 		}
-
 		if (dest.isFile()) {
 			if (src.isDirectory()) {
 				throw new IOException("Can't copy a directory to a file.");
 			}
-			fastCopyFile(src, dest, replace);
+			FileTreeOperations.copyFile(src.toPath(), dest.toPath(), replace);
 			return;
 		}
+		Path srcName = src.getAbsoluteFile().toPath().normalize().getFileName();
+		Path target = srcName == null ? 
+			dest.toPath() : dest.toPath().resolve(srcName.toString());
+		FileTreeOperations.copyTree(src.toPath(), target, replace, parallel);
 	}
 
 	private static void fastCopyFile(File srcFile, File destFile, boolean replace) {
 		try {
-			if (!replace) {
-				Files.copy(srcFile.toPath(), destFile.toPath());
-			} else {
-				Files.copy(
-					srcFile.toPath(), destFile.toPath(),
-					StandardCopyOption.REPLACE_EXISTING
-				);
-			}
+			FileTreeOperations.copyFile(srcFile.toPath(), destFile.toPath(), replace);
 		} catch (FileAlreadyExistsException e) {
-			new IOError(
-				"The '%s' already exists. If you want to replace it with the " +
-				"source file, then you neet to add the 'f' to " +
-				"the options argument.", e.getMessage()
-			).throwSelfNative();
+			throwFileAlreadyExists(e);
 		} catch (IOException e) {
 			throwIOError(e);
 		}
 	}
 
+	private static void throwFileAlreadyExists(FileAlreadyExistsException e) {
+		new IOError(
+			"The '%s' already exists. If you want to replace it with the " +
+			"source file, then you neet to add the 'f' to " +
+			"the options argument.", e.getMessage()
+		).throwSelfNative();
+	}
+
 	@NativeFunc(name="mv")
 	public static CandyObject mv(CNIEnv env, StringObj src, StringObj dest, OptionalArg options) {
 		String optionsStr = getOptions(options);
@@ -343,19 +337,17 @@ public class FileObj extends CandyObject {
 		return null;
 	}
 
+	/**
+	 * Returns the total size of a file or a directory tree in bytes.
+	 *
+	 * @param options This is an optional string. If it includes 'p', the 
+	 *                directory tree will be measured by multiple threads.
+	 */
 	@NativeFunc(name="du")
-	public static IntegerObj du(CNIEnv env, StringObj filePath) {
-		return IntegerObj.valueOf(diskUsage(new File(filePath.value())));
-	}
-
-	private static long diskUsage(File f) {
-		long total = f.length();
-		if (f.isDirectory()) {
-			for (File subfile : f.listFiles()) {
-				total += diskUsage(subfile);
-			}
-		}
-		return total;
+	public static IntegerObj du(CNIEnv env, StringObj filePath, OptionalArg options) {
+		boolean parallel = getOptions(options).indexOf('p') != -1;
+		return IntegerObj.valueOf(FileTreeOperations.sizeOfTree(
+			Paths.get(filePath.value()), parallel));
 	}
 
 	@NativeFunc(name="join", varArgsIndex = 0)
@@ -644,6 +636,75 @@ public class FileObj extends CandyObject {
 		return null;
 	}
 
+	/**
+	 * Returns an iterator over the lines of this file, which reads the
+	 * file line by line instead of loading the whole file.
+	 */
+	@NativeMethod(name = "lines")
+	public CandyObject lines(CNIEnv env) {
+		return new FileIterator.LineIterator(path);
+	}
+
+	/**
+	 * Returns an iterator over the chunks of this file, each chunk is a
+	 * string of {@code size} characters except the last one.
+	 */
+	@NativeMethod(name = "chunks")
+	public CandyObject chunks(CNIEnv env, long size) {
+		if (size <= 0 || size > Integer.MAX_VALUE) {
+			new ArgumentError("Illegal chunk size: %d", size).throwSelfNative();
+		}
+		return new FileIterator.ChunkIterator(path, (int) size);
+	}
+
+	/**
+	 * Returns a buffered writer of this file, see {@link WriterObj}.
+	 */
+	@NativeMethod(name = "newWriter")
+	public CandyObject newWriter(CNIEnv env, OptionalArg options, OptionalArg bufferSize) {
+		return openWriter(options, bufferSize);
+	}
+
+	private WriterObj openWriter(OptionalArg options, OptionalArg bufferSize) {
+		return new WriterObj(path, getOptions(options),
+			ObjectHelper.asInteger(bufferSize.getValue(WriterObj.DEFAULT_BUFFER_SIZE)));
+	}
+
+	/**
+	 * Calls the specified function with a buffered writer of this file,
+	 * the writer is closed when the function returns or raises an error.
+	 *
+	 * <p>If the function raises an error, the error raised by closing the
+	 * writer is suppressed and added to the error of the function.
+	 */
+	@NativeMethod(name = "withWriter")
+	public CandyObject withWriter(CNIEnv env, CallableObj fn, 
+	                              OptionalArg options, OptionalArg bufferSize) {
+		WriterObj writer = openWriter(options, bufferSize);
+		CandyObject result;
+		try {
+			result = ObjectHelper.callFunction(env, fn, writer);
+		} catch (Throwable t) {
+			try {
+				writer.close();
+			} catch (CarrierErrorException closeError) {
+				if (t instanceof CarrierErrorException) {
+					((CarrierErrorException) t).getErrorObj()
+						.addSuppressed(closeError.getErrorObj());
+				} else if (t instanceof ContinueRunException) {
+					// The error is handled by a caller of this method.
+					((ContinueRunException) t).getErrorObj()
+						.addSuppressed(closeError.getErrorObj());
+				} else {
+					t.addSuppressed(closeError);
+				}
+			}
+			throw t;
+		}
+		writer.close();
+		return result;
+	}
+
 	@NativeMethod(name = "write")
 	public CandyObject write(CNIEnv env, String data) {
 		BufferedWriter bw = null;
@@ -16,7 +16,7 @@ public class IntegerObj extends NumberObj {
 	public static final CandyClass INTEGER_CLASS = 
 		NativeClassRegister.generateNativeClass(IntegerObj.class, NumberObj.NUMBER_CLASS);
 
-	private static final IntegerObj[] CACHES = new IntegerObj[256];
+	private static final IntegerObj[] CACHES = new IntegerObj[2048];
 	
 	static {
 		int halfS = CACHES.length/2;
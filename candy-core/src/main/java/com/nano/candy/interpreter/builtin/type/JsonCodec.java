@@ -0,0 +1,485 @@
+package com.nano.candy.interpreter.builtin.type;
+
+import com.nano.candy.interpreter.builtin.BuiltinFunctions;
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.error.ArgumentError;
+import com.nano.candy.interpreter.builtin.type.error.TypeError;
+import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
+import com.nano.candy.interpreter.builtin.utils.OptionalArg;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+import com.nano.candy.interpreter.cni.NativeFunc;
+import com.nano.candy.interpreter.cni.NativeFuncRegister;
+
+/**
+ * Converts between the JSON text and the Candy objects. This is the
+ * native implementation of the module {@code libs/json}.
+ *
+ * <p>A JSON object is parsed into a {@code Map} (or an instance of the
+ * specified map class), an array into an {@code Array}, and a number into
+ * an {@code Integer} or a {@code Double} if it has a fraction or an
+ * exponent. An invalid JSON text raises an {@code ArgumentError}.
+ *
+ * <p>Dumping an object that is not a JSON value calls its method (named
+ * {@code toElement} by default) and dumps the result instead.
+ */
+@NativeClass(name = "Json")
+public class JsonCodec extends CandyObject {
+
+	public static final CandyClass JSON_CLASS =
+		NativeClassRegister.generateNativeClass(JsonCodec.class);
+	static {
+		NativeFuncRegister.register(JSON_CLASS, JsonCodec.class);
+	}
+
+	/**
+	 * Parses the JSON text.
+	 *
+	 * @param mapClass This is an optional argument. If it's present, it's
+	 *                 called to create the map of each JSON object.
+	 */
+	@NativeFunc(name = "parse")
+	public static CandyObject parse(CNIEnv env, String json, OptionalArg mapClass) {
+		CallableObj mapFactory = null;
+		if (mapClass.isPresent() && mapClass.getValue() != NullPointer.nil()) {
+			mapFactory = TypeError.requiresCallable(mapClass.getValue());
+		}
+		return new Parser(env, json, mapFactory).parse();
+	}
+
+	/**
+	 * Dumps the object into the JSON text.
+	 *
+	 * @param format Whether to break lines and indent the elements. The
+	 *               default is true.
+	 * @param indent The indent of each level. The default is 3 spaces.
+	 * @param method The name of the method that converts a non-JSON object
+	 *               into a JSON element. The default is "toElement".
+	 */
+	@NativeFunc(name = "dump")
+	public static CandyObject dump(CNIEnv env, CandyObject element,
+	                               OptionalArg format, OptionalArg indent,
+	                               OptionalArg method) {
+		Dumper dumper = new Dumper(env,
+			format.getValue(true).boolValue(env).value(),
+			indent.getValue("   ").callStr(env).value(),
+			method.getValue("toElement").callStr(env).value());
+		dumper.dumpElement(element);
+		return StringObj.valueOf(dumper.builder.toString());
+	}
+
+	protected JsonCodec() {
+		super(JSON_CLASS);
+	}
+
+	private static class Parser {
+
+		private final CNIEnv env;
+		private final String json;
+		private final int length;
+		private final CallableObj mapFactory;
+		private int pos;
+
+		Parser(CNIEnv env, String json, CallableObj mapFactory) {
+			this.env = env;
+			this.json = json;
+			this.length = json.length();
+			this.mapFactory = mapFactory;
+		}
+
+		private void error(String msgFmt, Object... args) {
+			int line = 1, column = 1;
+			for (int i = 0; i < pos && i < length; i ++) {
+				if (json.charAt(i) == '\n') {
+					line ++;
+					column = 1;
+				} else {
+					column ++;
+				}
+			}
+			new ArgumentError(String.format(msgFmt, args) +
+				" (line " + line + ", column " + column + ")").throwSelfNative();
+		}
+
+		private String describe(int index) {
+			return index < length ? String.valueOf(json.charAt(index)) : "EOF";
+		}
+
+		private void unexpected() {
+			error("Unexpected the char '%s'.", describe(pos));
+		}
+
+		private char peek() {
+			return pos < length ? json.charAt(pos) : '\0';
+		}
+
+		private void skipWhitespaces() {
+			while (pos < length) {
+				char ch = json.charAt(pos);
+				if (ch != ' ' && ch != '\n' && ch != '\t' &&
+				    ch != '\f' && ch != '\r') {
+					return;
+				}
+				pos ++;
+			}
+		}
+
+		private void match(char expected) {
+			skipWhitespaces();
+			if (pos < length && json.charAt(pos) == expected) {
+				pos ++;
+				return;
+			}
+			error("Expecting '%s', but was '%s'.", expected, describe(pos));
+		}
+
+		private void matchWord(String word) {
+			if (!json.startsWith(word, pos)) {
+				int i = pos;
+				while (i < length && i-pos < word.length() &&
+				       json.charAt(i) == word.charAt(i-pos)) {
+					i ++;
+				}
+				pos = i;
+				unexpected();
+			}
+			pos += word.length();
+		}
+
+		CandyObject parse() {
+			CandyObject element = parseElement();
+			skipWhitespaces();
+			if (pos < length) {
+				error("Expecting 'EOF'.");
+			}
+			return element;
+		}
+
+		private CandyObject parseElement() {
+			skipWhitespaces();
+			char ch = peek();
+			switch (ch) {
+				case '"':
+					return StringObj.valueOf(parseString());
+				case '{':
+					return parseObject();
+				case '[':
+					return parseArray();
+				case 'n':
+					matchWord("null");
+					return NullPointer.nil();
+				case 't':
+					matchWord("true");
+					return BoolObj.TRUE;
+				case 'f':
+					matchWord("false");
+					return BoolObj.FALSE;
+				default:
+					if (ch == '-' || (ch >= '0' && ch <= '9')) {
+						return parseNumber();
+					}
+					unexpected();
+					return null;
+			}
+		}
+
+		private MapObj newMap() {
+			if (mapFactory == null) {
+				return new MapObj(16);
+			}
+			CandyObject map = ObjectHelper.callFunction(env, mapFactory);
+			TypeError.checkIsInstanceOf(MapObj.MAP_CLASS, map);
+			return (MapObj) map;
+		}
+
+		private CandyObject parseObject() {
+			pos ++; // consume '{'
+			MapObj map = newMap();
+			skipWhitespaces();
+			if (peek() == '}' && pos < length) {
+				pos ++;
+				return map;
+			}
+			do {
+				skipWhitespaces();
+				StringObj key = StringObj.valueOf(parseString());
+				match(':');
+				map.put(env, key, parseElement());
+				skipWhitespaces();
+			} while (got(','));
+			match('}');
+			return map;
+		}
+
+		private CandyObject parseArray() {
+			pos ++; // consume '['
+			ArrayObj elements = new ArrayObj(8);
+			skipWhitespaces();
+			if (peek() == ']' && pos < length) {
+				pos ++;
+				return elements;
+			}
+			do {
+				elements.append(parseElement());
+				skipWhitespaces();
+			} while (got(','));
+			match(']');
+			return elements;
+		}
+
+		private boolean got(char ch) {
+			if (pos < length && json.charAt(pos) == ch) {
+				pos ++;
+				return true;
+			}
+			return false;
+		}
+
+		private String parseString() {
+			match('"');
+			int start = pos;
+			// Fast path: no escape characters.
+			while (pos < length) {
+				char ch = json.charAt(pos);
+				if (ch == '"') {
+					return json.substring(start, pos ++);
+				}
+				if (ch == '\\') {
+					break;
+				}
+				pos ++;
+			}
+			StringBuilder builder = new StringBuilder(pos - start + 16);
+			builder.append(json, start, pos);
+			while (pos < length) {
+				char ch = json.charAt(pos ++);
+				if (ch == '"') {
+					return builder.toString();
+				}
+				if (ch == '\\') {
+					builder.append(parseEscape());
+				} else {
+					builder.append(ch);
+				}
+			}
+			error("Missing '\"'.");
+			return null;
+		}
+
+		private char parseEscape() {
+			if (pos >= length) {
+				error("Unexpected the escape char 'EOF'.");
+			}
+			char ch = json.charAt(pos ++);
+			switch (ch) {
+				case '"': case '\\': case '/': return ch;
+				case 'n': return '\n';
+				case 't': return '\t';
+				case 'r': return '\r';
+				case 'f': return '\f';
+				case 'b': return '\b';
+				case 'u': return parseHex();
+			}
+			pos --;
+			error("Unexpected the escape char '%s'.", ch);
+			return 0;
+		}
+
+		private char parseHex() {
+			int code = 0;
+			for (int i = 0; i < 4; i ++) {
+				int digit = pos < length ? Character.digit(json.charAt(pos), 16) : -1;
+				if (digit < 0) {
+					error("Invalid hex number.");
+				}
+				code = code*16 + digit;
+				pos ++;
+			}
+			return (char) code;
+		}
+
+		private boolean isDigit(char ch) {
+			return ch >= '0' && ch <= '9';
+		}
+
+		private void parseDigits(boolean checkFirstDigit) {
+			if (!isDigit(peek()) || pos >= length) {
+				error("Invalid digit '%s'.", describe(pos));
+			}
+			char first = json.charAt(pos ++);
+			if (checkFirstDigit && first == '0' && isDigit(peek())) {
+				error("Invalid number.");
+			}
+			while (pos < length && isDigit(json.charAt(pos))) {
+				pos ++;
+			}
+		}
+
+		private CandyObject parseNumber() {
+			int start = pos;
+			boolean isDouble = false;
+			if (peek() == '-') {
+				pos ++;
+			}
+			parseDigits(true);
+			if (peek() == '.' && pos < length) {
+				isDouble = true;
+				pos ++;
+				parseDigits(false);
+			}
+			char ch = peek();
+			if ((ch == 'e' || ch == 'E') && pos < length) {
+				isDouble = true;
+				pos ++;
+				ch = peek();
+				if ((ch == '+' || ch == '-') && pos < length) {
+					pos ++;
+				}
+				parseDigits(false);
+			}
+			String num = json.substring(start, pos);
+			try {
+				return isDouble ?
+					DoubleObj.valueOf(Double.parseDouble(num)) :
+					IntegerObj.valueOf(Long.parseLong(num));
+			} catch (NumberFormatException e) {
+				error("Invalid number %s.", num);
+				return null;
+			}
+		}
+	}
+
+	private static class Dumper {
+
+		private final CNIEnv env;
+		private final boolean format;
+		private final String indent;
+		private final String method;
+		private final StringBuilder builder;
+		private int indentCount;
+
+		Dumper(CNIEnv env, boolean format, String indent, String method) {
+			this.env = env;
+			this.format = format;
+			this.indent = indent;
+			this.method = method;
+			this.builder = new StringBuilder();
+		}
+
+		void dumpElement(CandyObject element) {
+			if (element == NullPointer.nil() || element instanceof BoolObj ||
+			    element instanceof NumberObj) {
+				builder.append(element.callStr(env).value());
+			} else if (element instanceof StringObj) {
+				dumpString(((StringObj) element).value());
+			} else if (element instanceof MapObj) {
+				dumpMap((MapObj) element);
+			} else if (element instanceof ArrayObj) {
+				dumpArray((ArrayObj) element);
+			} else {
+				dumpObject(element);
+			}
+		}
+
+		private void dumpString(String str) {
+			builder.append('"');
+			int len = str.length();
+			for (int i = 0; i < len; i ++) {
+				char ch = str.charAt(i);
+				switch (ch) {
+					case '"':  builder.append("\\\""); break;
+					case '\\': builder.append("\\\\"); break;
+					case '\n': builder.append("\\n"); break;
+					case '\t': builder.append("\\t"); break;
+					case '\r': builder.append("\\r"); break;
+					case '\f': builder.append("\\f"); break;
+					case '\b': builder.append("\\b"); break;
+					default:
+						if (ch < 0x20) {
+							builder.append(String.format("\\u%04x", (int) ch));
+						} else {
+							builder.append(ch);
+						}
+				}
+			}
+			builder.append('"');
+		}
+
+		private void dumpObject(CandyObject obj) {
+			CandyObject met = BuiltinFunctions.getAttr(env, obj, method);
+			if (met == null || !met.isCallable()) {
+				new ArgumentError(
+					"The object %s has no '%s' method or the method is not " +
+					"a callable object.", obj.callStr(env).value(), method
+				).throwSelfNative();
+			}
+			dumpElement(ObjectHelper.callFunction(env, (CallableObj) met));
+		}
+
+		private void newLine() {
+			builder.append('\n');
+			for (int i = 0; i < indentCount; i ++) {
+				builder.append(indent);
+			}
+		}
+
+		private void beginList(char open) {
+			builder.append(open);
+			indentCount ++;
+		}
+
+		private void separate() {
+			builder.append(format ? ", " : ",");
+		}
+
+		private void endList(char close) {
+			indentCount --;
+			if (format) {
+				newLine();
+			}
+			builder.append(close);
+		}
+
+		private void dumpMap(MapObj map) {
+			if (map.size() == 0) {
+				builder.append("{}");
+				return;
+			}
+			beginList('{');
+			boolean first = true;
+			for (MapObj.Entry entry : map.entries()) {
+				if (!first) {
+					separate();
+				}
+				first = false;
+				if (format) {
+					newLine();
+				}
+				dumpString(entry.getKey().callStr(env).value());
+				builder.append(format ? ": " : ":");
+				dumpElement(entry.getValue());
+			}
+			endList('}');
+		}
+
+		private void dumpArray(ArrayObj arr) {
+			if (arr.length() == 0) {
+				builder.append("[]");
+				return;
+			}
+			beginList('[');
+			for (int i = 0; i < arr.length(); i ++) {
+				if (i != 0) {
+					separate();
+				}
+				if (format) {
+					newLine();
+				}
+				dumpElement(arr.get(i));
+			}
+			endList(']');
+		}
+	}
+}
@@ -11,6 +11,7 @@ import com.nano.candy.interpreter.cni.NativeClass;
 import com.nano.candy.interpreter.cni.NativeClassRegister;
 import com.nano.candy.interpreter.cni.NativeMethod;
 import com.nano.candy.std.Names;
+import java.util.Iterator;
 
 @NativeClass(name = "Map", isInheritable=true)
 public final class MapObj extends CandyObject {
@@ -235,6 +236,31 @@ public final class MapObj extends CandyObject {
 		}
 	}
 	
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the entries of this map in the iteration order.
+	 */
+	public Iterable<Entry> entries() {
+		return () -> new Iterator<Entry>() {
+			final EntryIterator i = new EntryIterator(table);
+
+			@Override
+			public boolean hasNext() {
+				return i.currentEntry != null;
+			}
+
+			@Override
+			public Entry next() {
+				Entry entry = i.currentEntry;
+				i.moveToNext();
+				return entry;
+			}
+		};
+	}
+	
 	@Override
 	protected final CandyObject getItem(CNIEnv env, CandyObject key) {
 		return ObjectHelper.preventNull(get(env, key));
@@ -7,6 +7,7 @@ import com.nano.candy.interpreter.builtin.type.CallableObj;
 import com.nano.candy.interpreter.cni.CNIEnv;
 import com.nano.candy.interpreter.runtime.FileEnvironment;
 import com.nano.candy.interpreter.runtime.Frame;
+import com.nano.candy.interpreter.runtime.InlineCache;
 import com.nano.candy.interpreter.runtime.OperandStack;
 import com.nano.candy.interpreter.runtime.Upvalue;
 
@@ -26,6 +27,13 @@ public final class PrototypeFunction extends CallableObj {
 	 */
 	public final int localSizeWithoutArgs;
 	
+	/**
+	 * The inline caches of the attribute instructions in this function, 
+	 * indexed by the pc of the instructions relative to the start pc of
+	 * this function. Lazily allocated.
+	 */
+	private InlineCache[] inlineCaches;
+	
 	public PrototypeFunction(Chunk chunk, int pc, 
 	                         Upvalue[] upvalues, 
 	                         String fullName, 
@@ -77,6 +85,13 @@ public final class PrototypeFunction extends CallableObj {
 		return codeAttr.length;
 	}
 	
+	public InlineCache[] getInlineCaches() {
+		if (inlineCaches == null) {
+			inlineCaches = new InlineCache[codeAttr.length];
+		}
+		return inlineCaches;
+	}
+	
 	public CodeAttribute getCodeAttr() {
 		return codeAttr;
 	}
@@ -175,8 +175,20 @@ public class StringObj extends CandyObject {
 		return hashCode;
 	}
 
+	@Override
+	public CandyObject callSetItem(CNIEnv env, CandyObject key, CandyObject value) {
+		// The string constants are frozen. A string can't be changed
+		// anyway, so the TypeError of the setItem is raised instead of the
+		// AttributeError of the frozen object.
+		if (frozen() && getCandyClass() == STRING_CLASS) {
+			return setItem(env, key, value);
+		}
+		return super.callSetItem(env, key, value);
+	}
+
 	@NativeMethod(name = Names.METHOD_INITALIZER)
 	protected CandyObject init(CNIEnv env, String value) {
+		checkFrozen();
 		this.value = value;
 		return this;
 	}
@@ -0,0 +1,165 @@
+package com.nano.candy.interpreter.builtin.type;
+
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.error.ArgumentError;
+import com.nano.candy.interpreter.builtin.type.error.IOError;
+import com.nano.candy.interpreter.builtin.type.error.TypeError;
+import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
+import com.nano.candy.interpreter.builtin.utils.OptionalArg;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+import com.nano.candy.interpreter.cni.NativeMethod;
+import com.nano.candy.std.Names;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A buffered writer that keeps the file open until it's closed.
+ *
+ * <p>Unlike {@code File.write} and {@code File.append}, which open and
+ * close the file on every call, the data written by a writer is buffered
+ * and only written to the file when the buffer is full, or the writer is
+ * flushed or closed. The data still in the buffer is lost if a writer is
+ * never closed.
+ *
+ * <p>The {@code options} of a writer may include the following character:
+ *
+ * <pre>
+ * 'a': It's 'append'. If it's present, the data is appended to the end of
+ *      the file instead of replacing the content of the file.
+ * </pre>
+ */
+@NativeClass(name = "Writer", isInheritable = true)
+public class WriterObj extends CandyObject {
+
+	public static final CandyClass WRITER_CLASS =
+		NativeClassRegister.generateNativeClass(WriterObj.class);
+
+	static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	private Path path;
+	private BufferedWriter writer;
+
+	protected WriterObj() {
+		super(WRITER_CLASS);
+	}
+
+	public WriterObj(Path path, String options, long bufferSize) {
+		super(WRITER_CLASS);
+		open(path, options, bufferSize);
+	}
+
+	private void open(Path path, String options, long bufferSize) {
+		if (bufferSize <= 0 || bufferSize > Integer.MAX_VALUE) {
+			new ArgumentError("Illegal buffer size: %d", bufferSize)
+				.throwSelfNative();
+		}
+		StandardOpenOption mode = options.indexOf('a') != -1 ?
+			StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+		this.path = path;
+		try {
+			FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.WRITE, StandardOpenOption.CREATE, mode);
+			this.writer = new BufferedWriter(new OutputStreamWriter(
+				Channels.newOutputStream(channel), StandardCharsets.UTF_8),
+				(int) bufferSize);
+		} catch (IOException e) {
+			new IOError(e).throwSelfNative();
+		}
+		setBuiltinMetaData("path", StringObj.valueOf(path.toString()));
+	}
+
+	private BufferedWriter writer() {
+		if (writer == null) {
+			new IOError("The writer has been closed: %s", path).throwSelfNative();
+		}
+		return writer;
+	}
+
+	public void close() {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.close();
+		} catch (IOException e) {
+			new IOError(e).throwSelfNative();
+		} finally {
+			writer = null;
+		}
+	}
+
+	@NativeMethod(name = Names.METHOD_INITALIZER)
+	protected final CandyObject init(CNIEnv env, StringObj path,
+	                                 OptionalArg options, OptionalArg bufferSize) {
+		open(
+			Paths.get(path.value()),
+			TypeError.requiresStringObj(options.getValue("")).value(),
+			ObjectHelper.asInteger(bufferSize.getValue(DEFAULT_BUFFER_SIZE))
+		);
+		return this;
+	}
+
+	@NativeMethod(name = "write")
+	public CandyObject write(CNIEnv env, String data) {
+		try {
+			writer().write(data);
+		} catch (IOException e) {
+			new IOError(e).throwSelfNative();
+		}
+		return this;
+	}
+
+	/**
+	 * Writes all the strings in the specified array in order.
+	 */
+	@NativeMethod(name = "writeAll")
+	public CandyObject writeAll(CNIEnv env, ArrayObj data) {
+		BufferedWriter writer = writer();
+		final int len = data.length();
+		try {
+			for (int i = 0; i < len; i ++) {
+				writer.write(TypeError.requiresStringObj(data.get(i)).value());
+			}
+		} catch (IOException e) {
+			new IOError(e).throwSelfNative();
+		}
+		return this;
+	}
+
+	@NativeMethod(name = "flush")
+	public CandyObject flush(CNIEnv env) {
+		try {
+			writer().flush();
+		} catch (IOException e) {
+			new IOError(e).throwSelfNative();
+		}
+		return this;
+	}
+
+	@NativeMethod(name = "close")
+	public CandyObject close(CNIEnv env) {
+		close();
+		return null;
+	}
+
+	@NativeMethod(name = "isClosed")
+	public CandyObject isClosed(CNIEnv env) {
+		return BoolObj.valueOf(writer == null);
+	}
+
+	@Override
+	public StringObj str(CNIEnv env) {
+		return StringObj.valueOf(ObjectHelper.toString(
+			getCandyClassName(), "%s", path));
+	}
+}
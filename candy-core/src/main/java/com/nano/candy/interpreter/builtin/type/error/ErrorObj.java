@@ -13,7 +13,9 @@ import com.nano.candy.interpreter.cni.NativeClassRegister;
 import com.nano.candy.interpreter.cni.NativeMethod;
 import com.nano.candy.interpreter.runtime.CarrierErrorException;
 import com.nano.candy.interpreter.runtime.Frame;
+import com.nano.candy.interpreter.runtime.StackSnapshot;
 import com.nano.candy.std.Names;
+import java.util.ArrayList;
 import java.util.Arrays;
 
 @NativeClass(name = "Error", isInheritable = true)
@@ -34,6 +36,19 @@ public class ErrorObj extends CandyObject {
 	protected StackTraceElementObj[] stackTraceElements;
 	protected String message;
 	
+	/**
+	 * The stack captured when this error is created or raised. It's
+	 * converted to the {@code stackTraceElements} when they are requested.
+	 */
+	private StackSnapshot stackSnapshot;
+	private int stackSnapshotOffset;
+	
+	/**
+	 * The errors suppressed in order to deliver this error, such as the
+	 * error raised when a resource is closed after this error. Nullable.
+	 */
+	private ArrayList<ErrorObj> suppressed;
+	
 	public ErrorObj() { 
 		this(ERROR_CLASS); 
 	}
@@ -77,21 +92,65 @@ public class ErrorObj extends CandyObject {
 	
 	public void setStackTraceElements(StackTraceElementObj[] stackTraceElements) {
 		this.stackTraceElements = stackTraceElements;
+		this.stackSnapshot = null;
 	}
 	
 	public void setStackTraceElements(Frame stack[]) {
-		this.stackTraceElements = StackTraceElementObj.getStackTraceElements(stack);
+		setStackTraceElements(StackTraceElementObj.getStackTraceElements(stack));
+	}
+	
+	/**
+	 * Sets the stack of this error, the top {@code offset} frames of the
+	 * snapshot are skipped.
+	 */
+	public void setStackSnapshot(StackSnapshot stackSnapshot, int offset) {
+		this.stackTraceElements = null;
+		this.stackSnapshot = stackSnapshot;
+		this.stackSnapshotOffset = offset;
+	}
+	
+	/**
+	 * Returns {@code true} if the stack of this error has been set.
+	 */
+	public boolean hasStackTrace() {
+		return stackTraceElements != null || stackSnapshot != null;
 	}
 	
 	public StackTraceElementObj[] getStackTraceElements() {
+		if (stackSnapshot != null) {
+			stackTraceElements = 
+				stackSnapshot.toStackTraceElements(stackSnapshotOffset);
+			stackSnapshot = null;
+		}
 		return stackTraceElements;
 	}
 	
+	/**
+	 * Records the error that is suppressed in order to deliver this error.
+	 */
+	public void addSuppressed(ErrorObj error) {
+		if (error == this) {
+			return;
+		}
+		if (suppressed == null) {
+			suppressed = new ArrayList<>(1);
+		}
+		suppressed.add(error);
+	}
+	
+	public ErrorObj[] getSuppressed() {
+		if (suppressed == null) {
+			return new ErrorObj[0];
+		}
+		return suppressed.toArray(new ErrorObj[0]);
+	}
+	
 	public void throwSelfNative() {
 		throw new CarrierErrorException(this);
 	}
 	
 	public String sprintStackTrace(int maxFrames) {
+		StackTraceElementObj[] stackTraceElements = getStackTraceElements();
 		StringBuilder builder = new StringBuilder();
 		builder.append(getCandyClassName())
 			.append(": ")
@@ -109,32 +168,43 @@ public class ErrorObj extends CandyObject {
 			builder.append("More ").append(stackTraceElements.length-max)
 				.append(" ...\n");
 		}
+		for (ErrorObj error : getSuppressed()) {
+			builder.append("Suppressed: ")
+				.append(error.getCandyClassName())
+				.append(": ")
+				.append(error.getMessage()).append("\n");
+		}
 		return builder.toString();
 	}
 	
 	@NativeMethod(name = Names.METHOD_INITALIZER)
 	public CandyObject init(CNIEnv env, StringObj msg) {
 		this.message = msg.value();
-		if (this.stackTraceElements != null && 
-		     this.stackTraceElements.length != 0 ) {
+		if (stackSnapshot != null || (stackTraceElements != null && 
+		     stackTraceElements.length != 0)) {
 			return this;
 		}
 		int offset = 0;
 		if (!getCandyClass().getInitializer().isBuiltin()) {
 			offset = 1;
 		}
-		this.stackTraceElements = 
-			StackTraceElementObj.getStackTraceElements(env.getStack(), offset);	
+		setStackSnapshot(env.captureStack(), offset);
 		return this;
 	}
 	
 	@NativeMethod(name = "getStackTraceElements")
 	public CandyObject getStackTraceElements(CNIEnv env) {
+		StackTraceElementObj[] stackTraceElements = getStackTraceElements();
 		return new ArrayObj(Arrays.copyOf(
 			stackTraceElements, stackTraceElements.length
 		));
 	}
 	
+	@NativeMethod(name = "getSuppressed")
+	public CandyObject getSuppressed(CNIEnv env) {
+		return new ArrayObj(getSuppressed());
+	}
+	
 	@NativeMethod(name = "getMessage")
 	public CandyObject getMessage(CNIEnv env) {
 		return StringObj.valueOf(message);
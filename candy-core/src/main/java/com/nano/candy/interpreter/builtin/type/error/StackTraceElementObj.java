@@ -42,10 +42,15 @@ public class StackTraceElementObj extends CandyObject {
 	}
 	
 	public StackTraceElementObj(Frame frame) {
+		this(frame.getName(), frame.getSourceFileName(), 
+			frame.currentLineExecuted());
+	}
+	
+	public StackTraceElementObj(String frameName, String fileName, int lineNumber) {
 		super(STACK_TRACE_ELEMENT_CLASS);
-		frameName = frame.getName();
-		fileName = frame.getSourceFileName();
-		lineNumber = frame.currentLineExecuted();
+		this.frameName = frameName;
+		this.fileName = fileName;
+		this.lineNumber = lineNumber;
 	}
 
 	public String getFrameName() {
@@ -0,0 +1,19 @@
+package com.nano.candy.interpreter.builtin.type.error;
+
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+
+@NativeClass(name = "TimeoutError", isInheritable = true)
+public class TimeoutError extends ErrorObj {
+	public static final CandyClass TIMEOUT_ERROR_CLASS = 
+		NativeClassRegister.generateNativeClass(TimeoutError.class, ERROR_CLASS);
+
+	public TimeoutError() {
+		super(TIMEOUT_ERROR_CLASS);
+	}
+
+	public TimeoutError(String msg) {
+		super(TIMEOUT_ERROR_CLASS, msg);
+	}
+}
@@ -90,6 +90,14 @@ public class TypeError extends ErrorObj {
 		return null;
 	}
 	
+	public static ErrorObj requiresErrorObj(CandyObject obj) {
+		if (obj instanceof ErrorObj) {
+			return (ErrorObj) obj;
+		}
+		throwTypeError(ErrorObj.ERROR_CLASS.getName(), obj.getCandyClassName());
+		return null;
+	}
+	
 	public static CandyObject[] requirsCandyObjectArray(CandyObject obj) {
 		if (obj instanceof ArrayObj) {
 			return ((ArrayObj) obj).subarray(0, ((ArrayObj) obj).length());
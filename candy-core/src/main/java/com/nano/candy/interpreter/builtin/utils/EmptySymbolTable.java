@@ -29,8 +29,28 @@ public class EmptySymbolTable extends SymbolTable {
 	}
 
 	@Override
-	public final ObjAttribute getAttr(String name) {
-		return null;
+	public final int indexOf(String name) {
+		return -1;
+	}
+
+	@Override
+	public final CandyObject getValue(int index) {
+		throw new IndexOutOfBoundsException();
+	}
+
+	@Override
+	public final void setValue(int index, CandyObject value) {
+		throw new IndexOutOfBoundsException();
+	}
+
+	@Override
+	public final byte getModifiers(int index) {
+		throw new IndexOutOfBoundsException();
+	}
+
+	@Override
+	public final Shape getShape() {
+		return Shape.root();
 	}
 
 	@Override
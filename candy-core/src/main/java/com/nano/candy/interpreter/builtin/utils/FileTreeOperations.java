@@ -0,0 +1,392 @@
+package com.nano.candy.interpreter.builtin.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Recursive operations on file trees used by {@code File.cp}, {@code File.rm}
+ * and {@code File.du}.
+ *
+ * <p>Each operation has a sequential mode which walks the tree with
+ * {@link Files#walkFileTree} and a parallel mode which processes every
+ * directory in a fork-join task. Both modes stream the entries of the
+ * directories instead of collecting the whole tree first.
+ *
+ * <p>Symbolic links are never followed: a link is copied, deleted and
+ * measured as a link.
+ */
+public final class FileTreeOperations {
+
+	private static final LinkOption[] NOFOLLOW_LINKS = {
+		LinkOption.NOFOLLOW_LINKS
+	};
+
+	private static final Set<StandardOpenOption> CREATE_NEW = EnumSet.of(
+		StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+
+	private static final Set<StandardOpenOption> REPLACE_EXISTING = EnumSet.of(
+		StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+		StandardOpenOption.TRUNCATE_EXISTING);
+
+	/**
+	 * The tasks mostly wait for IO, so the pool has more threads than the
+	 * processors.
+	 */
+	private static class PoolHolder {
+		static final ForkJoinPool POOL = new ForkJoinPool(
+			Math.max(4, Runtime.getRuntime().availableProcessors()*2));
+	}
+
+	private FileTreeOperations() {}
+
+	/**
+	 * Copies the content of the regular file {@code src} to {@code dest}
+	 * with {@link FileChannel#transferTo}, so the content can be copied by
+	 * the operating system without passing through the Java heap.
+	 *
+	 * @throws java.nio.file.FileAlreadyExistsException if the {@code dest}
+	 *         exists and {@code replace} is false.
+	 */
+	public static void copyFile(Path src, Path dest, boolean replace)
+		throws IOException {
+		try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+		     FileChannel out = FileChannel.open(dest,
+		         replace ? REPLACE_EXISTING : CREATE_NEW,
+		         permissionsOf(src))) {
+			long size = in.size();
+			long position = 0;
+			while (position < size) {
+				long n = in.transferTo(position, size - position, out);
+				if (n <= 0) {
+					// The source file is truncated.
+					break;
+				}
+				position += n;
+			}
+		}
+	}
+
+	private static FileAttribute<?>[] permissionsOf(Path file) throws IOException {
+		if (!file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			return new FileAttribute<?>[0];
+		}
+		return new FileAttribute<?>[] {
+			PosixFilePermissions.asFileAttribute(
+				Files.getPosixFilePermissions(file))
+		};
+	}
+
+	private static void copyEntry(Path src, Path dest, boolean replace)
+		throws IOException {
+		if (Files.isSymbolicLink(src)) {
+			if (replace) {
+				Files.copy(src, dest, LinkOption.NOFOLLOW_LINKS,
+					StandardCopyOption.REPLACE_EXISTING);
+			} else {
+				Files.copy(src, dest, LinkOption.NOFOLLOW_LINKS);
+			}
+			return;
+		}
+		copyFile(src, dest, replace);
+	}
+
+	/**
+	 * Copies the file tree {@code src} to {@code target}, the {@code target}
+	 * will be the copy of the {@code src}.
+	 *
+	 * <p>If the {@code target} is in the {@code src}, it's skipped, so a
+	 * directory can be copied into its own subdirectory.
+	 */
+	public static void copyTree(Path src, Path target, boolean replace,
+	                            boolean parallel) throws IOException {
+		final Path srcRoot = src.toAbsolutePath().normalize();
+		final Path targetRoot = target.toAbsolutePath().normalize();
+		if (!Files.isDirectory(srcRoot, NOFOLLOW_LINKS)) {
+			Files.createDirectories(targetRoot.getParent());
+			copyEntry(srcRoot, targetRoot, replace);
+			return;
+		}
+		if (parallel) {
+			try {
+				PoolHolder.POOL.invoke(
+					new CopyTask(srcRoot, targetRoot, targetRoot, replace));
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			return;
+		}
+		Files.walkFileTree(srcRoot, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+				throws IOException {
+				if (dir.equals(targetRoot)) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+				Files.createDirectories(targetRoot.resolve(srcRoot.relativize(dir)));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+				throws IOException {
+				copyEntry(file, targetRoot.resolve(srcRoot.relativize(file)), replace);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Deletes the file tree {@code root}.
+	 *
+	 * <p>The deletion goes on when a file can't be deleted.
+	 *
+	 * @return true if all the files are deleted.
+	 */
+	public static boolean deleteTree(Path root, boolean parallel) {
+		if (parallel && Files.isDirectory(root, NOFOLLOW_LINKS)) {
+			return PoolHolder.POOL.invoke(new DeleteTask(root));
+		}
+		DeleteVisitor visitor = new DeleteVisitor();
+		try {
+			Files.walkFileTree(root, visitor);
+		} catch (IOException e) {
+			return false;
+		}
+		return visitor.success;
+	}
+
+	private static boolean deleteQuietly(Path file) {
+		try {
+			Files.delete(file);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the total size in bytes of the file tree {@code root},
+	 * including the size of the directories. The files that can't be read
+	 * are ignored.
+	 */
+	public static long sizeOfTree(Path root, boolean parallel) {
+		BasicFileAttributes attrs = readAttributes(root);
+		if (attrs == null) {
+			return 0;
+		}
+		if (parallel && attrs.isDirectory()) {
+			return attrs.size() + PoolHolder.POOL.invoke(new SizeTask(root));
+		}
+		final long[] total = {0};
+		try {
+			Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+					total[0] += attrs.size();
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					total[0] += attrs.size();
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			// Unreachable, the visitor never throws.
+		}
+		return total[0];
+	}
+
+	private static BasicFileAttributes readAttributes(Path file) {
+		try {
+			return Files.readAttributes(
+				file, BasicFileAttributes.class, NOFOLLOW_LINKS);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Joins all the tasks and rethrows the first exception after all the
+	 * tasks are completed.
+	 */
+	private static void joinAll(List<? extends ForkJoinTask<?>> tasks,
+	                            RuntimeException error) {
+		for (ForkJoinTask<?> task : tasks) {
+			try {
+				task.join();
+			} catch (RuntimeException e) {
+				if (error == null) {
+					error = e;
+				}
+			}
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	private static class DeleteVisitor extends SimpleFileVisitor<Path> {
+		boolean success = true;
+
+		@Override
+		public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+			success &= deleteQuietly(file);
+			return FileVisitResult.CONTINUE;
+		}
+
+		@Override
+		public FileVisitResult visitFileFailed(Path file, IOException e) {
+			success = false;
+			return FileVisitResult.CONTINUE;
+		}
+
+		@Override
+		public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+			success &= e == null;
+			success &= deleteQuietly(dir);
+			return FileVisitResult.CONTINUE;
+		}
+	}
+
+	private static class CopyTask extends RecursiveAction {
+		private static final long serialVersionUID = 1;
+
+		private final Path src;
+		private final Path dest;
+		private final Path targetRoot;
+		private final boolean replace;
+
+		CopyTask(Path src, Path dest, Path targetRoot, boolean replace) {
+			this.src = src;
+			this.dest = dest;
+			this.targetRoot = targetRoot;
+			this.replace = replace;
+		}
+
+		@Override
+		protected void compute() {
+			List<CopyTask> subtasks = new ArrayList<>();
+			RuntimeException error = null;
+			try (DirectoryStream<Path> entries = openDirectory(src, dest)) {
+				for (Path entry : entries) {
+					Path newEntry = dest.resolve(entry.getFileName().toString());
+					if (!Files.isDirectory(entry, NOFOLLOW_LINKS)) {
+						copyEntry(entry, newEntry, replace);
+					} else if (!entry.equals(targetRoot)) {
+						CopyTask task = new CopyTask(entry, newEntry, targetRoot, replace);
+						task.fork();
+						subtasks.add(task);
+					}
+				}
+			} catch (IOException e) {
+				error = new UncheckedIOException(e);
+			}
+			joinAll(subtasks, error);
+		}
+
+		private static DirectoryStream<Path> openDirectory(Path src, Path dest)
+			throws IOException {
+			Files.createDirectories(dest);
+			return Files.newDirectoryStream(src);
+		}
+	}
+
+	private static class DeleteTask extends RecursiveTask<Boolean> {
+		private static final long serialVersionUID = 1;
+
+		private final Path dir;
+
+		DeleteTask(Path dir) {
+			this.dir = dir;
+		}
+
+		@Override
+		protected Boolean compute() {
+			boolean success = true;
+			List<DeleteTask> subtasks = new ArrayList<>();
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+				for (Path entry : entries) {
+					if (Files.isDirectory(entry, NOFOLLOW_LINKS)) {
+						DeleteTask task = new DeleteTask(entry);
+						task.fork();
+						subtasks.add(task);
+					} else {
+						success &= deleteQuietly(entry);
+					}
+				}
+			} catch (IOException e) {
+				success = false;
+			}
+			for (DeleteTask task : subtasks) {
+				success &= task.join();
+			}
+			return success & deleteQuietly(dir);
+		}
+	}
+
+	/**
+	 * Computes the total size of the entries in a directory.
+	 */
+	private static class SizeTask extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1;
+
+		private final Path dir;
+
+		SizeTask(Path dir) {
+			this.dir = dir;
+		}
+
+		@Override
+		protected Long compute() {
+			long total = 0;
+			List<SizeTask> subtasks = new ArrayList<>();
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+				for (Path entry : entries) {
+					BasicFileAttributes attrs = readAttributes(entry);
+					if (attrs == null) {
+						continue;
+					}
+					total += attrs.size();
+					if (attrs.isDirectory()) {
+						SizeTask task = new SizeTask(entry);
+						task.fork();
+						subtasks.add(task);
+					}
+				}
+			} catch (IOException e) {
+				// Ignored like the sequential mode.
+			}
+			for (SizeTask task : subtasks) {
+				total += task.join();
+			}
+			return total;
+		}
+	}
+}
@@ -159,7 +159,6 @@ public class HashSymbolTable extends SymbolTable {
 		return attr != null ? attr.value : null;
 	}
 
-	@Override
 	public ObjAttribute getAttr(String name) {
 		if (size == 0) { 
 			return null;
@@ -168,6 +167,30 @@ public class HashSymbolTable extends SymbolTable {
 		return isActive(attr) ? attr : null;
 	}
 
+	@Override
+	public int indexOf(String name) {
+		if (size == 0) { 
+			return -1;
+		}
+		int index = findPos(name);
+		return isActive(table[index]) ? index : -1;
+	}
+
+	@Override
+	public CandyObject getValue(int index) {
+		return table[index].value;
+	}
+
+	@Override
+	public void setValue(int index, CandyObject value) {
+		table[index].value = value;
+	}
+
+	@Override
+	public byte getModifiers(int index) {
+		return table[index].modifiers;
+	}
+
 	@Override
 	public int size() {
 		return size;
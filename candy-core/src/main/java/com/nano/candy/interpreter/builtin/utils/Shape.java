@@ -0,0 +1,115 @@
+package com.nano.candy.interpreter.builtin.utils;
+
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A shape (also known as a hidden class) describes the layout of the
+ * attributes of objects: the name and the modifiers of the attribute
+ * stored in each slot.
+ *
+ * <p>Shapes are immutable and form a transition tree from the root
+ * shape. Adding an attribute to an object moves the object to the child
+ * shape, so objects of a class whose attributes are defined in the same
+ * order share the same shape, and store only their attribute values in
+ * a flat array. See {@link ShapedSymbolTable}.
+ */
+public final class Shape {
+
+	/**
+	 * Objects having more attributes than this value are switched to
+	 * the dictionary mode.
+	 */
+	public static final int MAX_ATTRIBUTES = 32;
+
+	private static final Shape ROOT = new Shape();
+
+	public static Shape root() {
+		return ROOT;
+	}
+
+	private final Shape parent;
+	private final String name;
+	private final byte modifiers;
+
+	/**
+	 * The number of the attributes in this shape, the last attribute is
+	 * stored in the slot {@code size-1}.
+	 */
+	private final int size;
+
+	private final HashMap<String, Integer> indexes;
+	private final byte[] allModifiers;
+
+	private final ConcurrentHashMap<String, Shape> transitions;
+
+	private Shape() {
+		this.parent = null;
+		this.name = null;
+		this.modifiers = 0;
+		this.size = 0;
+		this.indexes = new HashMap<>(0);
+		this.allModifiers = new byte[0];
+		this.transitions = new ConcurrentHashMap<>();
+	}
+
+	private Shape(Shape parent, String name, byte modifiers) {
+		this.parent = parent;
+		this.name = name;
+		this.modifiers = modifiers;
+		this.size = parent.size + 1;
+		this.indexes = new HashMap<>(parent.indexes);
+		this.indexes.put(name, parent.size);
+		this.allModifiers = new byte[size];
+		System.arraycopy(parent.allModifiers, 0, allModifiers, 0, parent.size);
+		this.allModifiers[parent.size] = modifiers;
+		this.transitions = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Returns the shape that has one more attribute than this shape.
+	 *
+	 * <p>The attribute must not be present in this shape.
+	 */
+	public Shape addAttr(String name, byte modifiers) {
+		Shape child = transitions.get(name);
+		if (child == null) {
+			child = new Shape(this, name, modifiers);
+			Shape old = transitions.putIfAbsent(name, child);
+			if (old != null) {
+				child = old;
+			}
+		}
+		if (child.modifiers != modifiers) {
+			// The same attribute with different modifiers, we don't
+			// share this rare shape.
+			return new Shape(this, name, modifiers);
+		}
+		return child;
+	}
+
+	/**
+	 * Returns the slot index of the specified attribute, or {@code -1} if
+	 * the attribute is not present.
+	 */
+	public int indexOf(String name) {
+		Integer index = indexes.get(name);
+		return index == null ? -1 : index;
+	}
+
+	public String getName(int index) {
+		Shape shape = this;
+		while (shape.size-1 != index) {
+			shape = shape.parent;
+		}
+		return shape.name;
+	}
+
+	public byte getModifiers(int index) {
+		return allModifiers[index];
+	}
+
+	public int size() {
+		return size;
+	}
+}
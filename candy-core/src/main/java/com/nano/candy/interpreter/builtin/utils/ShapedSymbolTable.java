@@ -0,0 +1,169 @@
+package com.nano.candy.interpreter.builtin.utils;
+
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.std.AttributeModifiers;
+
+/**
+ * A symbol table that stores attribute values in a flat array whose
+ * layout is described by a shared {@link Shape}.
+ *
+ * <p>Removing an attribute, changing the modifiers of an attribute or
+ * adding too many attributes switches this table to the dictionary
+ * mode, in which the attributes are stored in a {@link HashSymbolTable}
+ * and the table no longer has a shape.
+ */
+public class ShapedSymbolTable extends SymbolTable {
+
+	private static final CandyObject[] EMPTY_SLOTS = new CandyObject[0];
+
+	private Shape shape;
+	private CandyObject[] slots;
+
+	/**
+	 * Non-null in the dictionary mode.
+	 */
+	private HashSymbolTable dictionary;
+
+	public ShapedSymbolTable() {
+		this.shape = Shape.root();
+		this.slots = EMPTY_SLOTS;
+	}
+
+	private void toDictionaryMode() {
+		HashSymbolTable dictionary = new HashSymbolTable(shape.size()*2);
+		for (int i = shape.size()-1; i >= 0; i --) {
+			dictionary.putWithModfiers(
+				shape.getName(i), slots[i], shape.getModifiers(i));
+		}
+		this.dictionary = dictionary;
+		this.shape = null;
+		this.slots = null;
+	}
+
+	private void addSlot(String name, CandyObject value, byte modifiers) {
+		if (shape.size() >= Shape.MAX_ATTRIBUTES) {
+			toDictionaryMode();
+			dictionary.putWithModfiers(name, value, modifiers);
+			return;
+		}
+		int index = shape.size();
+		ensureEnoughTableSize(index + 1);
+		shape = shape.addAttr(name, modifiers);
+		slots[index] = value;
+	}
+
+	@Override
+	protected void ensureEnoughTableSize(int minimumSize) {
+		if (dictionary != null) {
+			dictionary.ensureEnoughTableSize(minimumSize);
+			return;
+		}
+		if (slots.length < minimumSize) {
+			int newLength = Math.max(minimumSize, Math.max(4, slots.length*2));
+			CandyObject[] newSlots = new CandyObject[newLength];
+			System.arraycopy(slots, 0, newSlots, 0, shape.size());
+			slots = newSlots;
+		}
+	}
+
+	@Override
+	public CandyObject put(String name, CandyObject value) {
+		if (dictionary != null) {
+			return dictionary.put(name, value);
+		}
+		int index = shape.indexOf(name);
+		if (index >= 0) {
+			CandyObject old = slots[index];
+			slots[index] = value;
+			return old;
+		}
+		addSlot(name, value, AttributeModifiers.PUBLIC);
+		return null;
+	}
+
+	@Override
+	public CandyObject putWithModfiers(String name, CandyObject value, byte modifiers) {
+		if (dictionary != null) {
+			return dictionary.putWithModfiers(name, value, modifiers);
+		}
+		int index = shape.indexOf(name);
+		if (index < 0) {
+			addSlot(name, value, modifiers);
+			return null;
+		}
+		if (shape.getModifiers(index) != modifiers) {
+			toDictionaryMode();
+			return dictionary.putWithModfiers(name, value, modifiers);
+		}
+		CandyObject old = slots[index];
+		slots[index] = value;
+		return old;
+	}
+
+	@Override
+	public CandyObject remove(String name) {
+		if (dictionary != null) {
+			return dictionary.remove(name);
+		}
+		if (shape.indexOf(name) < 0) {
+			return null;
+		}
+		toDictionaryMode();
+		return dictionary.remove(name);
+	}
+
+	@Override
+	public CandyObject get(String name) {
+		if (dictionary != null) {
+			return dictionary.get(name);
+		}
+		int index = shape.indexOf(name);
+		return index >= 0 ? slots[index] : null;
+	}
+
+	@Override
+	public int indexOf(String name) {
+		if (dictionary != null) {
+			return dictionary.indexOf(name);
+		}
+		return shape.indexOf(name);
+	}
+
+	@Override
+	public CandyObject getValue(int index) {
+		if (dictionary != null) {
+			return dictionary.getValue(index);
+		}
+		return slots[index];
+	}
+
+	@Override
+	public void setValue(int index, CandyObject value) {
+		if (dictionary != null) {
+			dictionary.setValue(index, value);
+			return;
+		}
+		slots[index] = value;
+	}
+
+	@Override
+	public byte getModifiers(int index) {
+		if (dictionary != null) {
+			return dictionary.getModifiers(index);
+		}
+		return shape.getModifiers(index);
+	}
+
+	@Override
+	public Shape getShape() {
+		return shape;
+	}
+
+	@Override
+	public int size() {
+		if (dictionary != null) {
+			return dictionary.size();
+		}
+		return shape.size();
+	}
+}
@@ -20,9 +20,28 @@ public abstract class SymbolTable {
 	public abstract CandyObject putWithModfiers(String name, CandyObject value, byte modifiers);
 	public abstract CandyObject remove(String name);
 	public abstract CandyObject get(String name);
-	public abstract ObjAttribute getAttr(String name);
 	public abstract int size();
 	
+	/**
+	 * Returns the index of the specified attribute in this table, or
+	 * {@code -1} if the attribute is not present.
+	 *
+	 * <p>The index is valid until an attribute is added to or removed 
+	 * from this table.
+	 */
+	public abstract int indexOf(String name);
+	public abstract CandyObject getValue(int index);
+	public abstract void setValue(int index, CandyObject value);
+	public abstract byte getModifiers(int index);
+	
+	/**
+	 * Returns the shape of this table or {@code null} if the layout of 
+	 * this table is not described by a shape.
+	 */
+	public Shape getShape() {
+		return null;
+	}
+	
 	public final void putAll(Set<CandyAttrSymbol> attrs) {
 		ensureEnoughTableSize(size() + attrs.size());
 		for (CandyAttrSymbol symbol : attrs) {
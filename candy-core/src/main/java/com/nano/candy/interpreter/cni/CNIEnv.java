@@ -8,6 +8,7 @@ import com.nano.candy.interpreter.runtime.Evaluator;
 import com.nano.candy.interpreter.runtime.EvaluatorEnv;
 import com.nano.candy.interpreter.runtime.FileEnvironment;
 import com.nano.candy.interpreter.runtime.Frame;
+import com.nano.candy.interpreter.runtime.StackSnapshot;
 
 public class CNIEnv {
 	private EvaluatorEnv evalEnv;
@@ -46,6 +47,10 @@ public class CNIEnv {
 		return evalEnv.getStack();
 	}
 	
+	public StackSnapshot captureStack() {
+		return evalEnv.captureStack();
+	}
+	
 	public CandyThread getCurrentThread() {
 		return evalEnv.getCurrentThread();
 	}
@@ -0,0 +1,233 @@
+package com.nano.candy.interpreter.runtime;
+
+import com.nano.candy.code.Chunk;
+import com.nano.candy.code.ChunkSerializer;
+import com.nano.candy.interpreter.InterpreterOptions;
+import com.nano.candy.sys.CandySystem;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * A persistent cache of compiled source files, so that unchanged modules
+ * are not scanned, parsed and compiled again by every process.
+ *
+ * <p>An entry of the cache is a file named by the hash of the absolute
+ * path of the source file. It consists of the key of the compiled source
+ * content followed by the serialized chunk (see {@link ChunkSerializer}).
+ * An entry is valid only if the key matches the current content and the
+ * chunk is written by the same bytecode version, otherwise the source file
+ * is compiled again and the entry is replaced.
+ *
+ * <p>The cache is disabled unless the cache directory is specified by
+ * {@code $CANDY_CACHE}. All the IO errors of the cache are ignored, the
+ * source file is compiled as usual in that case. If the directory can't
+ * be written, the cache stops storing entries and only reads the entries
+ * that are present.
+ */
+public class BytecodeCache {
+
+	private static final String ENTRY_SUFFIX = ".cache";
+
+	/**
+	 * The class files defining the bytecode format, the instruction set
+	 * and the code generation.
+	 */
+	private static final String[] FORMAT_CLASSES = {
+		"/com/nano/candy/code/Chunk.class",
+		"/com/nano/candy/code/ChunkSerializer.class",
+		"/com/nano/candy/code/CodeAttribute.class",
+		"/com/nano/candy/code/ConstantPool.class",
+		"/com/nano/candy/code/ConstantValue.class",
+		"/com/nano/candy/code/ErrorHandlerTable.class",
+		"/com/nano/candy/code/LineNumberTable.class",
+		"/com/nano/candy/code/OpCodes.class",
+		"/com/nano/candy/codegen/ChunkBuilder.class",
+		"/com/nano/candy/codegen/CodeGenerator.class",
+		"/com/nano/candy/codegen/ConstantPool.class",
+		"/com/nano/candy/codegen/LocalTable.class",
+		"/com/nano/candy/codegen/OperatorInstructionMap.class",
+	};
+
+	/**
+	 * The digest of the {@link #FORMAT_CLASSES}, or null if any of them
+	 * can't be read. It's a part of the keys, so the entries are
+	 * invalidated once the format or the code generator is changed, even
+	 * if the {@link ChunkSerializer#VERSION} is not increased.
+	 */
+	private static final byte[] FORMAT_DIGEST = formatDigest();
+
+	private static volatile BytecodeCache defaultCache;
+
+	/**
+	 * Returns the cache in the directory {@code $CANDY_CACHE}, or null if
+	 * the cache is disabled.
+	 */
+	public static BytecodeCache getDefault() {
+		String path = CandySystem.getBytecodeCachePath();
+		if (path == null || FORMAT_DIGEST == null) {
+			return null;
+		}
+		BytecodeCache cache = defaultCache;
+		if (cache == null || !cache.directory.getPath().equals(path)) {
+			cache = new BytecodeCache(new File(path));
+			defaultCache = cache;
+		}
+		return cache;
+	}
+
+	/**
+	 * Returns the key of the specified source content compiled with the
+	 * specified options.
+	 *
+	 * <p>The key covers every input of the code generation (see
+	 * {@link RuntimeCompiler#compileTree}), the version of the bytecode
+	 * format and the digest of the classes defining the format, so a 
+	 * chunk is never reused by a differently configured or changed
+	 * compiler.
+	 */
+	public static byte[] contentKey(byte[] content, InterpreterOptions options) {
+		MessageDigest digest = sha256();
+		digest.update((byte) (ChunkSerializer.VERSION >>> 8));
+		digest.update((byte) ChunkSerializer.VERSION);
+		if (FORMAT_DIGEST != null) {
+			digest.update(FORMAT_DIGEST);
+		}
+		digest.update((byte) (options.isDebugMode() ? 1 : 0));
+		digest.update((byte) (options.isInteractionMode() ? 1 : 0));
+		return digest.digest(content);
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256.
+			throw new Error(e);
+		}
+	}
+
+	private static byte[] formatDigest() {
+		MessageDigest digest = sha256();
+		byte[] buffer = new byte[8192];
+		for (String name : FORMAT_CLASSES) {
+			try (InputStream in = BytecodeCache.class.getResourceAsStream(name)) {
+				if (in == null) {
+					return null;
+				}
+				int n;
+				while ((n = in.read(buffer)) > 0) {
+					digest.update(buffer, 0, n);
+				}
+			} catch (IOException e) {
+				return null;
+			}
+		}
+		return digest.digest();
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder builder = new StringBuilder(bytes.length*2);
+		for (byte b : bytes) {
+			builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+			builder.append(Character.forDigit(b & 0xF, 16));
+		}
+		return builder.toString();
+	}
+
+	private final File directory;
+
+	/**
+	 * False once the directory fails to be created or written.
+	 */
+	private volatile boolean writable = true;
+
+	public BytecodeCache(File directory) {
+		this.directory = directory;
+	}
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	private File entryOf(File srcFile) {
+		byte[] pathHash = sha256().digest(
+			srcFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+		return new File(directory, toHex(pathHash) + ENTRY_SUFFIX);
+	}
+
+	/**
+	 * Returns the cached chunk of the specified source file, or null if
+	 * the chunk is not cached or the cached chunk is out of date.
+	 */
+	public Chunk load(File srcFile, byte[] key) {
+		File entry = entryOf(srcFile);
+		if (!entry.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(
+			new BufferedInputStream(new FileInputStream(entry)))) {
+			byte[] entryKey = new byte[in.readUnsignedByte()];
+			in.readFully(entryKey);
+			if (!Arrays.equals(key, entryKey)) {
+				return null;
+			}
+			return ChunkSerializer.read(in);
+		} catch (IOException | RuntimeException e) {
+			// A broken entry will be replaced.
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the chunk compiled from the specified source file.
+	 *
+	 * <p>The entry is written to a temporary file first and then moved to
+	 * the cache directory, so other processes never read a partial entry.
+	 */
+	public void store(File srcFile, byte[] key, Chunk chunk) {
+		if (!writable) {
+			return;
+		}
+		File tmp = null;
+		try {
+			try {
+				Files.createDirectories(directory.toPath());
+				tmp = File.createTempFile("chunk", ".tmp", directory);
+			} catch (IOException | SecurityException e) {
+				// The directory is read-only, every entry not present
+				// is a miss.
+				writable = false;
+				return;
+			}
+			try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(tmp)))) {
+				out.writeByte(key.length);
+				out.write(key);
+				ChunkSerializer.write(chunk, out);
+			}
+			Files.move(tmp.toPath(), entryOf(srcFile).toPath(),
+				StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+			tmp = null;
+		} catch (IOException | RuntimeException e) {
+			// Ignored, the source file will be compiled next time.
+		} finally {
+			if (tmp != null) {
+				tmp.delete();
+			}
+		}
+	}
+}
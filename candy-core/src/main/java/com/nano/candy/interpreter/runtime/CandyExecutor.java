@@ -0,0 +1,167 @@
+package com.nano.candy.interpreter.runtime;
+
+import com.nano.candy.interpreter.InterpreterOptions;
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.ArrayObj;
+import com.nano.candy.interpreter.builtin.type.BoolObj;
+import com.nano.candy.interpreter.builtin.type.CallableObj;
+import com.nano.candy.interpreter.builtin.type.error.ArgumentError;
+import com.nano.candy.interpreter.builtin.type.error.ErrorObj;
+import com.nano.candy.interpreter.builtin.type.error.InterruptedError;
+import com.nano.candy.interpreter.builtin.type.error.StateError;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+import com.nano.candy.interpreter.cni.NativeMethod;
+import com.nano.candy.std.Names;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An executor runs Candy functions on a pool of worker threads and returns
+ * their results through {@link CandyFuture futures}.
+ *
+ * <p>Every worker is a Candy thread whose evaluator is created when the
+ * worker starts and is reused by all the tasks run by the worker, so a 
+ * task doesn't set up a new VM. 
+ *
+ * <p>The interpreter waits for the submitted tasks before exiting, but
+ * not for the idle workers.
+ */
+@NativeClass(name = "Executor", isInheritable = true)
+public class CandyExecutor extends CandyObject {
+	
+	public static final CandyClass EXECUTOR_CLASS = 
+		NativeClassRegister.generateNativeClass(CandyExecutor.class);
+	
+	/**
+	 * The Candy thread of the current worker.
+	 */
+	private static final ThreadLocal<CandyThread> WORKER = new ThreadLocal<>();
+	
+	private static volatile CandyExecutor defaultExecutor;
+	
+	/**
+	 * Returns the executor running the callbacks of the futures that are
+	 * not created by executors.
+	 */
+	static CandyExecutor getDefault(InterpreterOptions options) {
+		CandyExecutor executor = defaultExecutor;
+		if (executor == null) {
+			synchronized (CandyExecutor.class) {
+				executor = defaultExecutor;
+				if (executor == null) {
+					executor = new CandyExecutor(options, 
+						Runtime.getRuntime().availableProcessors());
+					defaultExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+	
+	private ThreadPoolExecutor pool;
+	
+	protected CandyExecutor() {
+		super(EXECUTOR_CLASS);
+	}
+	
+	public CandyExecutor(InterpreterOptions options, int poolSize) {
+		super(EXECUTOR_CLASS);
+		init(options, poolSize);
+	}
+	
+	private void init(InterpreterOptions options, int poolSize) {
+		this.pool = new ThreadPoolExecutor(
+			poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+			new LinkedBlockingQueue<Runnable>(),
+			r -> {
+				Thread t = new Thread(() -> {
+					WORKER.set(new CandyThread(Thread.currentThread(), options));
+					r.run();
+				});
+				t.setDaemon(true);
+				return t;
+			}
+		);
+	}
+	
+	/**
+	 * Runs the fn with the specified arguments in a worker and completes
+	 * the future with the result of the fn.
+	 *
+	 * @throws RejectedExecutionException 
+	 *         If this executor has been shut down.
+	 */
+	void execute(CandyFuture future, CallableObj fn, CandyObject... args) {
+		CandyThread.threadStarted();
+		try {
+			pool.execute(() -> {
+				try {
+					CandyObject result = WORKER.get().mEnv
+						.getEvaluator().evalTask(fn, args);
+					future.complete(result);
+				} catch (Throwable t) {
+					future.fail(ErrorObj.asErrorObj(t));
+				} finally {
+					CandyThread.threadEnded();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			CandyThread.threadEnded();
+			throw e;
+		}
+	}
+	
+	@NativeMethod(name = Names.METHOD_INITALIZER)
+	protected CandyObject initMet(CNIEnv env, long poolSize) {
+		if (poolSize <= 0) {
+			new ArgumentError("Illegal pool size: %d", poolSize)
+				.throwSelfNative();
+		}
+		init(env.getOptions(), (int) poolSize);
+		return this;
+	}
+	
+	@NativeMethod(name = "submit", varArgsIndex = 1)
+	public CandyObject submit(CNIEnv env, CallableObj fn, ArrayObj args) {
+		CandyFuture future = new CandyFuture(this);
+		try {
+			execute(future, fn, args.length() == 0 ? 
+				new CandyObject[0] : args.subarray(0, args.length()));
+		} catch (RejectedExecutionException e) {
+			new StateError("The executor has been shut down.")
+				.throwSelfNative();
+		}
+		return future;
+	}
+	
+	@NativeMethod(name = "shutdown")
+	public CandyObject shutdown(CNIEnv env) {
+		pool.shutdown();
+		return null;
+	}
+	
+	@NativeMethod(name = "isShutdown")
+	public CandyObject isShutdown(CNIEnv env) {
+		return BoolObj.valueOf(pool.isShutdown());
+	}
+	
+	/**
+	 * Waits for the submitted tasks to complete after this executor is
+	 * shut down, and returns false if the timeout (milliseconds) elapsed.
+	 */
+	@NativeMethod(name = "awaitTermination")
+	public CandyObject awaitTermination(CNIEnv env, long timeout) {
+		try {
+			return BoolObj.valueOf(
+				pool.awaitTermination(timeout, TimeUnit.MILLISECONDS));
+		} catch (InterruptedException e) {
+			new InterruptedError(e).throwSelfNative();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,229 @@
+package com.nano.candy.interpreter.runtime;
+
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.ArrayObj;
+import com.nano.candy.interpreter.builtin.type.BoolObj;
+import com.nano.candy.interpreter.builtin.type.CallableObj;
+import com.nano.candy.interpreter.builtin.type.error.ArgumentError;
+import com.nano.candy.interpreter.builtin.type.error.ErrorObj;
+import com.nano.candy.interpreter.builtin.type.error.InterruptedError;
+import com.nano.candy.interpreter.builtin.type.error.StateError;
+import com.nano.candy.interpreter.builtin.type.error.TimeoutError;
+import com.nano.candy.interpreter.builtin.type.error.TypeError;
+import com.nano.candy.interpreter.builtin.utils.ObjectHelper;
+import com.nano.candy.interpreter.builtin.utils.OptionalArg;
+import com.nano.candy.interpreter.cni.CNIEnv;
+import com.nano.candy.interpreter.cni.NativeClass;
+import com.nano.candy.interpreter.cni.NativeClassRegister;
+import com.nano.candy.interpreter.cni.NativeFunc;
+import com.nano.candy.interpreter.cni.NativeFuncRegister;
+import com.nano.candy.interpreter.cni.NativeMethod;
+import com.nano.candy.std.Names;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A future represents the result of an asynchronous computation, which
+ * is a value or an error.
+ *
+ * <p>A future is completed by a task of an {@link CandyExecutor}, or by
+ * calling {@code complete} or {@code fail} if it's created by the 
+ * {@code Future()} (known as a promise). The callbacks registered by 
+ * {@code then} run on the executor of the future, or the default executor
+ * if the future is not created by an executor.
+ */
+@NativeClass(name = "Future", isInheritable = true)
+public class CandyFuture extends CandyObject {
+	
+	public static final CandyClass FUTURE_CLASS = 
+		NativeClassRegister.generateNativeClass(CandyFuture.class);
+	
+	static {
+		NativeFuncRegister.register(FUTURE_CLASS, CandyFuture.class);
+	}
+	
+	private static CandyFuture[] requiresFutures(ArrayObj arr) {
+		CandyFuture[] futures = new CandyFuture[arr.length()];
+		for (int i = 0; i < futures.length; i ++) {
+			CandyObject obj = arr.get(i);
+			if (!(obj instanceof CandyFuture)) {
+				new ArgumentError("The '%s' object is not a Future.", 
+					obj.getCandyClassName()).throwSelfNative();
+			}
+			futures[i] = (CandyFuture) obj;
+		}
+		return futures;
+	}
+	
+	/**
+	 * Returns a future completed with the array of the results of the
+	 * specified futures, or failed with the first error of them.
+	 */
+	@NativeFunc(name = "all")
+	public static CandyObject all(CNIEnv env, ArrayObj futuresArr) {
+		CandyFuture[] futures = requiresFutures(futuresArr);
+		CompletableFuture<?>[] cfs = new CompletableFuture<?>[futures.length];
+		for (int i = 0; i < futures.length; i ++) {
+			cfs[i] = futures[i].future;
+		}
+		CandyFuture all = new CandyFuture(null);
+		CompletableFuture.allOf(cfs).whenComplete((v, t) -> {
+			if (t != null) {
+				all.future.completeExceptionally(unwrap(t));
+				return;
+			}
+			CandyObject[] results = new CandyObject[futures.length];
+			for (int i = 0; i < futures.length; i ++) {
+				results[i] = futures[i].future.join();
+			}
+			all.complete(new ArrayObj(results));
+		});
+		return all;
+	}
+	
+	/**
+	 * Returns a future completed with the result or the error of the first
+	 * completed future of the specified futures.
+	 */
+	@NativeFunc(name = "any")
+	public static CandyObject any(CNIEnv env, ArrayObj futuresArr) {
+		CandyFuture[] futures = requiresFutures(futuresArr);
+		if (futures.length == 0) {
+			new ArgumentError("Requires at least one future.")
+				.throwSelfNative();
+		}
+		CandyFuture any = new CandyFuture(null);
+		for (CandyFuture f : futures) {
+			f.future.whenComplete((v, t) -> {
+				if (t != null) {
+					any.future.completeExceptionally(unwrap(t));
+				} else {
+					any.future.complete(v);
+				}
+			});
+		}
+		return any;
+	}
+	
+	/**
+	 * The dependent stages of the {@code CompletableFuture} are completed
+	 * with the wrapped exceptions.
+	 */
+	private static Throwable unwrap(Throwable t) {
+		while (t instanceof CompletionException && 
+		       t.getCause() != null) {
+			t = t.getCause();
+		}
+		return t;
+	}
+	
+	/**
+	 * The executor running the callbacks, or null if the default executor
+	 * is used.
+	 */
+	private CandyExecutor executor;
+	
+	/**
+	 * Completed exceptionally with a {@link CarrierErrorException} if the
+	 * computation raised an error.
+	 */
+	private CompletableFuture<CandyObject> future;
+	
+	protected CandyFuture() {
+		super(FUTURE_CLASS);
+	}
+	
+	public CandyFuture(CandyExecutor executor) {
+		super(FUTURE_CLASS);
+		init(executor);
+	}
+	
+	private void init(CandyExecutor executor) {
+		this.executor = executor;
+		this.future = new CompletableFuture<>();
+	}
+	
+	public boolean complete(CandyObject value) {
+		return future.complete(value);
+	}
+	
+	public boolean fail(ErrorObj error) {
+		return future.completeExceptionally(new CarrierErrorException(error));
+	}
+	
+	@NativeMethod(name = Names.METHOD_INITALIZER)
+	protected CandyObject initMet(CNIEnv env) {
+		init(null);
+		return this;
+	}
+	
+	@NativeMethod(name = "complete")
+	public CandyObject complete(CNIEnv env, CandyObject value) {
+		return BoolObj.valueOf(complete(value));
+	}
+	
+	@NativeMethod(name = "fail")
+	public CandyObject fail(CNIEnv env, CandyObject error) {
+		return BoolObj.valueOf(fail(TypeError.requiresErrorObj(error)));
+	}
+	
+	@NativeMethod(name = "isDone")
+	public CandyObject isDone(CNIEnv env) {
+		return BoolObj.valueOf(future.isDone());
+	}
+	
+	/**
+	 * Waits for the result, the error of the computation is raised in the
+	 * current thread.
+	 *
+	 * <p>Raises a {@code TimeoutError} if the optional timeout 
+	 * (milliseconds) elapsed.
+	 */
+	@NativeMethod(name = "get")
+	public CandyObject get(CNIEnv env, OptionalArg timeout) {
+		try {
+			if (timeout.isPresent()) {
+				long ms = ObjectHelper.asInteger(timeout.getValue(0));
+				return future.get(ms, TimeUnit.MILLISECONDS);
+			}
+			return future.get();
+		} catch (ExecutionException e) {
+			ErrorObj.asErrorObj(e.getCause()).throwSelfNative();
+		} catch (TimeoutException e) {
+			new TimeoutError("Timeout while waiting for the future.")
+				.throwSelfNative();
+		} catch (InterruptedException e) {
+			new InterruptedError(e).throwSelfNative();
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns a future completed with the result of the fn called with
+	 * the result of this future. If this future fails, the returned future
+	 * fails with the same error.
+	 */
+	@NativeMethod(name = "then")
+	public CandyObject then(CNIEnv env, CallableObj fn) {
+		CandyExecutor executor = this.executor != null ? 
+			this.executor : CandyExecutor.getDefault(env.getOptions());
+		CandyFuture next = new CandyFuture(executor);
+		future.whenComplete((v, t) -> {
+			if (t != null) {
+				next.future.completeExceptionally(unwrap(t));
+				return;
+			}
+			try {
+				executor.execute(next, fn, v);
+			} catch (RejectedExecutionException e) {
+				next.fail(new StateError("The executor has been shut down."));
+			}
+		});
+		return next;
+	}
+}
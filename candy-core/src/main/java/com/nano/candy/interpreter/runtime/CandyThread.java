@@ -22,14 +22,22 @@ import com.nano.candy.interpreter.cni.NativeFuncRegister;
 import com.nano.candy.interpreter.cni.NativeMethod;
 import com.nano.candy.interpreter.runtime.CandyThread;
 import com.nano.candy.std.Names;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.nano.candy.interpreter.cni.JavaFunctionObj.*;
 
 @NativeClass(name = "Thread", isInheritable = true)
 public class CandyThread extends CandyObject {
 
-	private static volatile int runningThreadCounter = 0;
-	private static Object threadCounterLock = new Object();
+	private static int runningThreadCounter = 0;
+	private static final Object threadCounterLock = new Object();
+	
+	/**
+	 * Generates the ids of the Candy threads that have no Java thread of 
+	 * their own until they run.
+	 */
+	private static final AtomicLong idGenerator = new AtomicLong(1);
 	
 	public static final CandyClass THREAD_CLASS = 
 		NativeClassRegister.generateNativeClass(CandyThread.class) ;
@@ -74,40 +82,70 @@ public class CandyThread extends CandyObject {
 		return env.getCurrentThread();
 	}
 	
+	/**
+	 * Waits for all the started Candy threads to terminate.
+	 */
 	public static void waitOtherThreadsEnd() {
-		while (true) {		
-			if (runningThreadCounter == 0) break;
-			try {
-				Thread.sleep(20);
-			} catch (InterruptedException e) {}
+		synchronized (threadCounterLock) {
+			while (runningThreadCounter != 0) {
+				try {
+					threadCounterLock.wait();
+				} catch (InterruptedException e) {}
+			}
 		}
 	}
-
-	private static class InnerThread extends Thread {
-		private Evaluator evaluator;
-		private CallableObj target;
-
-		public InnerThread(Evaluator evaluator, CallableObj target) {
-			this.evaluator = evaluator;
-			this.target = target;
+	
+	/**
+	 * The interpreter waits for the Candy threads and the tasks submitted
+	 * to the executors.
+	 *
+	 * @see CandyExecutor
+	 */
+	static void threadStarted() {
+		synchronized (threadCounterLock) {
+			runningThreadCounter ++;
 		}
-
-		@Override
-		public void run() {		
-			try {
-				evaluator.eval(target, 0);
-			} catch (VMExitException e) {
-				// Means an error occurred.
-				// We catch the exception to avoid printing unnecessary message.
-			} finally {
-				synchronized (threadCounterLock) {
-					runningThreadCounter --;
-				}
+	}
+	
+	static void threadEnded() {
+		synchronized (threadCounterLock) {
+			runningThreadCounter --;
+			if (runningThreadCounter == 0) {
+				threadCounterLock.notifyAll();
 			}
 		}
 	}
 
+	/**
+	 * The Java thread created for this Candy thread, or null if this 
+	 * Candy thread is run by a pool.
+	 *
+	 * @see ThreadLauncher
+	 */
 	private Thread javaThread;
+	private long id;
+	private String name;
+	
+	/**
+	 * The Java thread running this Candy thread.
+	 */
+	private Thread runningThread;
+	private boolean started;
+	private boolean interruptRequested;
+	private final Object stateLock = new Object();
+	
+	/**
+	 * Null if this Candy thread is not started by {@link #start}.
+	 */
+	private CountDownLatch terminated;
+	private CallableObj runner;
+	private InterpreterOptions options;
+	
+	/**
+	 * The environment of a started Candy thread is created when it runs,
+	 * and it's released when it terminates, so the queued and terminated 
+	 * Candy threads are lightweight.
+	 */
 	protected EvaluatorEnv mEnv;
 
 	protected CandyThread() {
@@ -116,8 +154,11 @@ public class CandyThread extends CandyObject {
 
 	public CandyThread(Thread javaThread, InterpreterOptions options) {
 		super(THREAD_CLASS);
-		setThread(javaThread);
+		this.javaThread = javaThread;
+		this.runningThread = javaThread;
+		setThreadInfo(javaThread.getId(), javaThread.isDaemon());
 		this.mEnv = new EvaluatorEnv(this, options);
+		StackSampler.register(mEnv, javaThread);
 	}
 	
 	public CandyThread(CNIEnv env, CallableObj runner) {
@@ -126,54 +167,145 @@ public class CandyThread extends CandyObject {
 	}
 
 	private void init(CNIEnv env, CallableObj runner) {	
-		this.mEnv = new EvaluatorEnv(this, env.getOptions());
-		Thread javaThread = new InnerThread(mEnv.getEvaluator(), runner);
-		setThread(javaThread);
+		this.runner = runner;
+		this.options = env.getOptions();
+		this.terminated = new CountDownLatch(1);
+		this.javaThread = ThreadLauncher.getDefault().newThread(this::runTask);
+		if (javaThread != null) {
+			setThreadInfo(javaThread.getId(), javaThread.isDaemon());
+		} else {
+			setThreadInfo(idGenerator.incrementAndGet(), false);
+		}
 	}
 
-	private void setThread(Thread javaThread) {
-		this.javaThread = javaThread;
-		this.javaThread.setName("CandyThread - " + javaThread.getId());
-		setMetaData("name", StringObj.valueOf(javaThread.getName()));
-		setMetaData("id", IntegerObj.valueOf(javaThread.getId()));
-		setMetaData("isDaemon", BoolObj.valueOf(javaThread.isDaemon()));
+	private void setThreadInfo(long id, boolean isDaemon) {
+		this.id = id;
+		setName("CandyThread - " + id);
+		setMetaData("id", IntegerObj.valueOf(id));
+		setMetaData("isDaemon", BoolObj.valueOf(isDaemon));
+	}
+	
+	private void setName(String name) {
+		this.name = name;
+		if (javaThread != null) {
+			javaThread.setName(name);
+		}
+		setMetaData("name", StringObj.valueOf(name));
+	}
+	
+	private void runTask() {
+		synchronized (stateLock) {
+			runningThread = Thread.currentThread();
+			if (interruptRequested) {
+				runningThread.interrupt();
+			}
+		}
+		try {
+			mEnv = new EvaluatorEnv(this, options);
+			StackSampler.register(mEnv, Thread.currentThread());
+			mEnv.getEvaluator().eval(runner, 0);
+		} catch (VMExitException e) {
+			// Means an error occurred.
+			// We catch the exception to avoid printing unnecessary message.
+		} finally {
+			if (mEnv != null) {
+				StackSampler.unregister(mEnv);
+				mEnv.release();
+			}
+			mEnv = null;
+			runner = null;
+			synchronized (stateLock) {
+				runningThread = null;
+				// The interrupted status must not be left to the next 
+				// Candy thread run by the pool.
+				Thread.interrupted();
+			}
+			terminated.countDown();
+			threadEnded();
+		}
 	}
 
 	public Thread getJavaThread() {
 		return javaThread;
 	}
+	
+	/**
+	 * Returns the environment used to operate Candy objects from Java
+	 * in this thread.
+	 */
+	public CNIEnv getCNIEnv() {
+		return mEnv.cniEnv;
+	}
 
 	public String getName() {
-		return this.javaThread.getName();
+		return name;
 	}
 
 	public long getId() {
-		return this.javaThread.getId();
+		return id;
 	}
 	
 	public void start() {
-		if (javaThread instanceof InnerThread) {
-			synchronized (threadCounterLock) {
-				runningThreadCounter ++;
-			}
-			this.javaThread.start();
-		} else {
+		if (terminated == null) {
 			throw new Error("Can't run an unrecognized java thread.");
 		}
+		synchronized (stateLock) {
+			if (started) {
+				throw new IllegalThreadStateException();
+			}
+			started = true;
+		}
+		threadStarted();
+		try {
+			if (javaThread != null) {
+				javaThread.start();
+			} else {
+				ThreadLauncher.getDefault().execute(this::runTask);
+			}
+		} catch (Throwable t) {
+			terminated.countDown();
+			threadEnded();
+			throw t;
+		}
+	}
+	
+	private boolean isAlive() {
+		if (terminated == null) {
+			return javaThread.isAlive();
+		}
+		synchronized (stateLock) {
+			return started && terminated.getCount() != 0;
+		}
+	}
+	
+	private boolean isInterrupted() {
+		synchronized (stateLock) {
+			return runningThread != null && runningThread.isInterrupted();
+		}
 	}
 	
 	public ModuleObj run(Chunk chunk) {
 		return mEnv.getEvaluator().eval(chunk);
 	}
+	
+	public ModuleObj run(CompiledFileInfo file) {
+		return mEnv.getEvaluator().eval(file);
+	}
 
 	@Override
 	public CandyObject setAttr(CNIEnv env, String name, CandyObject value) {
 		switch (name) {
 			case "name":
-				this.javaThread.setName(ObjectHelper.asString(value));
+				setName(ObjectHelper.asString(value));
 				break;
 			case "isDaemon":
-				this.javaThread.setDaemon(value.boolValue(env).value());
+				if (javaThread != null) {
+					try {
+						javaThread.setDaemon(value.boolValue(env).value());
+					} catch (IllegalArgumentException e) {
+						// Virtual threads are always daemon threads.
+					}
+				}
 				break;
 			case "id": case "isInterrupted": case "isAlive":
 				AttributeError.throwReadOnlyError(name);
@@ -186,9 +318,9 @@ public class CandyThread extends CandyObject {
 	public CandyObject getAttr(CNIEnv env, String name) {
 		switch(name){ 
 			case "isInterrupted": 
-				return BoolObj.valueOf(this.javaThread.isInterrupted());	
+				return BoolObj.valueOf(isInterrupted());	
 			case "isAlive":
-				return BoolObj.valueOf(this.javaThread.isAlive());
+				return BoolObj.valueOf(isAlive());
 		}
 		return super.getAttr(env, name);
 	}
@@ -213,7 +345,11 @@ public class CandyThread extends CandyObject {
 	@NativeMethod(name = "join")
 	public CandyObject join(CNIEnv env) {
 		try {
-			this.javaThread.join();
+			if (terminated != null) {
+				terminated.await();
+			} else {
+				javaThread.join();
+			}
 		} catch (InterruptedException e) {
 			new InterruptedError(e).throwSelfNative();
 		}
@@ -222,7 +358,12 @@ public class CandyThread extends CandyObject {
 	
 	@NativeMethod(name = "interrupt")
 	public CandyObject interrupt(CNIEnv env) {
-		this.javaThread.interrupt();
+		synchronized (stateLock) {
+			interruptRequested = true;
+			if (runningThread != null) {
+				runningThread.interrupt();
+			}
+		}
 		return null;
 	}
 }
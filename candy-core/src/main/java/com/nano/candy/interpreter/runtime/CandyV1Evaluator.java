@@ -13,9 +13,12 @@ import com.nano.candy.interpreter.builtin.type.BoolObj;
 import com.nano.candy.interpreter.builtin.type.CallableObj;
 import com.nano.candy.interpreter.builtin.type.DoubleObj;
 import com.nano.candy.interpreter.builtin.type.IntegerObj;
+import com.nano.candy.interpreter.builtin.type.IteratorObj;
 import com.nano.candy.interpreter.builtin.type.MapObj;
+import com.nano.candy.interpreter.builtin.type.MethodObj;
 import com.nano.candy.interpreter.builtin.type.ModuleObj;
 import com.nano.candy.interpreter.builtin.type.NullPointer;
+import com.nano.candy.interpreter.builtin.type.NumberObj;
 import com.nano.candy.interpreter.builtin.type.PrototypeFunction;
 import com.nano.candy.interpreter.builtin.type.Range;
 import com.nano.candy.interpreter.builtin.type.StringObj;
@@ -33,6 +36,7 @@ import com.nano.candy.interpreter.runtime.FrameStack;
 import com.nano.candy.interpreter.runtime.OperandStack;
 import com.nano.candy.interpreter.runtime.Upvalue;
 import com.nano.candy.interpreter.runtime.module.ModuleManager;
+import com.nano.candy.std.Names;
 import com.nano.candy.sys.CandySystem;
 import java.io.File;
 import java.io.PrintStream;
@@ -55,6 +59,12 @@ public class CandyV1Evaluator implements Evaluator {
 
 	private EvaluatorEnv env;
 	
+	/**
+	 * True if an unhandled error is thrown to the Java caller of 
+	 * {@link #evalTask}.
+	 */
+	private boolean throwUnhandledErrors;
+	
 	protected CandyV1Evaluator(EvaluatorEnv env) {
 		this.env = env;
 		this.stack = new FrameStack(CandySystem.DEFAULT_MAX_STACK);
@@ -68,12 +78,14 @@ public class CandyV1Evaluator implements Evaluator {
 		this.opStack.sp += frame.closure.localSizeWithoutArgs;
 	}
 	
-	private Frame popFrame() {
+	private void popFrame() {
 		Frame old = stack.popFrame();
-		opStack.pop(bp);
+		// The upvalues must be closed before the local variables are
+		// cleared.
 		old.closeAllUpvalues();
+		opStack.pop(bp);
+		stack.recycle(old);
 		syncFrameData();
-		return old;
 	}
 
 	@Override
@@ -85,12 +97,18 @@ public class CandyV1Evaluator implements Evaluator {
 		return frames;
 	}
 	
+	@Override
+	public StackSnapshot captureStack() {
+		return new StackSnapshot(stack);
+	}
+	
 	private final void returnFrame() {
 		Frame old = stack.popFrame();	
 		old.closeAllUpvalues();
 		CandyObject retValue = opStack.peek(0);
 		opStack.pop(bp + 1);
 		store(0, retValue);
+		stack.recycle(old);
 		syncFrameData();
 	}
 
@@ -154,8 +172,8 @@ public class CandyV1Evaluator implements Evaluator {
 	}
 
 	private boolean tryToHandleError(ErrorObj err, boolean printError) {
-		if (err.getStackTraceElements() == null) {
-			err.setStackTraceElements(env.getStack());
+		if (!err.hasStackTrace()) {
+			err.setStackSnapshot(captureStack(), 0);
 		}
 		ErrorHandlerTable. ErrorHandler handler = findExceptionHandler();
 		if (handler != null) {
@@ -285,6 +303,36 @@ public class CandyV1Evaluator implements Evaluator {
 		}
 	}
 
+	/**
+	 * Instruction: OP_CONCAT
+	 *
+	 * Concatenates the string values of the top {readUint8()} operands,
+	 * the bottom operand is the first.
+	 */
+	private void evalOpConcat() {
+		final int count = readUint8();
+		final int base = opStack.sp - count;
+		int length = 0;
+		for (int i = base; i < opStack.sp; i ++) {
+			CandyObject operand = opStack.operands[i];
+			if (operand.getCandyClass() == StringObj.STRING_CLASS) {
+				length += ((StringObj) operand).value().length();
+				continue;
+			}
+			// The operand array can be reallocated by the '_str' methods
+			// written in Candy.
+			StringObj str = operand.callStr(env.cniEnv);
+			opStack.operands[i] = str;
+			length += str.value().length();
+		}
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = base; i < opStack.sp; i ++) {
+			builder.append(((StringObj) opStack.operands[i]).value());
+		}
+		opStack.pop(base);
+		push(StringObj.valueOf(builder.toString()));
+	}
+
 	/**
 	 * Instruction: OP_BUILT_TUPLE
 	 *
@@ -324,6 +372,458 @@ public class CandyV1Evaluator implements Evaluator {
 		}
 	}
 	
+	/* -------------------- Attribute Inline Caches -------------------- */
+	
+	/**
+	 * Returns the entry of the inline cache of the attribute instruction
+	 * at the specified pc matching the receiver, an entry is added for the
+	 * receiver if the cache misses. Returns {@code null} if the cache is
+	 * megamorphic, the attribute must be accessed through the full lookup.
+	 */
+	private InlineCache getInlineCache(int pc, CandyObject receiver, String attr) {
+		PrototypeFunction fn = frame.closure;
+		InlineCache[] caches = fn.getInlineCaches();
+		int index = pc - fn.codeAttr.fromPc;
+		InlineCache cache = caches[index];
+		if (cache == InlineCache.MEGAMORPHIC) {
+			return null;
+		}
+		InlineCache entry = cache == null ? null : cache.find(receiver);
+		if (entry == null) {
+			entry = InlineCache.add(cache, receiver, attr);
+			caches[index] = entry;
+			if (entry == InlineCache.MEGAMORPHIC) {
+				return null;
+			}
+		}
+		return entry;
+	}
+	
+	/**
+	 * Instruction: OP_GET_ATTR
+	 *
+	 * If the receiver uses the default getter, reads the attribute
+	 * directly or binds the cached method to the receiver.
+	 */
+	private void evalOpGetAttr() {
+		int pc = frame.pc - 1;
+		String attr = cp.getString(readIndex());
+		CandyObject obj = pop();
+		InlineCache cache = getInlineCache(pc, obj, attr);
+		if (cache != null) {
+			int index = cache.findReadableAttr(obj);
+			if (index >= 0) {
+				push(obj.getMetaDataAt(index));
+				return;
+			}
+			CallableObj method = cache.findMethod(obj);
+			if (method != null) {
+				push(new MethodObj(obj, method));
+				return;
+			}
+		}
+		push(obj.callGetAttr(env.cniEnv, attr));
+	}
+	
+	/**
+	 * Instruction: OP_SET_ATTR
+	 *
+	 * If the receiver uses the default setter, changes the present
+	 * attribute directly.
+	 */
+	private void evalOpSetAttr() {
+		int pc = frame.pc - 1;
+		String attr = cp.getString(readIndex());
+		CandyObject obj = pop();
+		CandyObject value = pop();
+		InlineCache cache = getInlineCache(pc, obj, attr);
+		int index = cache == null ? -1 : cache.findWritableAttr(obj);
+		if (index >= 0) {
+			obj.setMetaDataAt(index, value);
+			push(value);
+			return;
+		}
+		push(obj.callSetAttr(env.cniEnv, attr, value));
+	}
+	
+	/**
+	 * Instruction: OP_INVOKE
+	 *
+	 * The receiver has been pushed after the arguments, so the cached
+	 * method can be called with the receiver as its last argument 
+	 * without creating a bound method.
+	 */
+	private void evalOpInvoke() {
+		int pc = frame.pc - 1;
+		int arity = readUint8();
+		String attr = cp.getString(readIndex());
+		CandyObject obj = peek(0);
+		InlineCache cache = getInlineCache(pc, obj, attr);
+		CallableObj method = 
+			cache == null ? null : cache.findDirectMethod(obj, arity);
+		if (method != null) {
+			method.onCall(env.cniEnv, opStack, arity + 1, EMPTY_UNPACK_FLAGS);
+			return;
+		}
+		pop();
+		call(TypeError.requiresCallable(obj.callGetAttr(env.cniEnv, attr)),
+			arity, EMPTY_UNPACK_FLAGS);
+	}
+	
+	/* -------------------- Arithmetic Fast Paths -------------------- */
+	
+	/**
+	 * Returns true if the given object is an instance of the built-in
+	 * Integer class.
+	 *
+	 * <p>Instances of Candy classes inheriting from the Integer share the
+	 * same Java class but may override operators, so the Candy class is
+	 * compared instead of using the {@code instanceof}.
+	 */
+	private static boolean isInteger(CandyObject obj) {
+		return obj.getCandyClass() == IntegerObj.INTEGER_CLASS;
+	}
+	
+	/**
+	 * Returns true if the given object is an instance of the built-in
+	 * Integer or Double class.
+	 */
+	private static boolean isNumber(CandyObject obj) {
+		CandyClass klass = obj.getCandyClass();
+		return klass == IntegerObj.INTEGER_CLASS || 
+		       klass == DoubleObj.DOUBLE_CLASS;
+	}
+	
+	private static long intValue(CandyObject obj) {
+		return ((NumberObj) obj).intValue();
+	}
+	
+	private static double doubleValue(CandyObject obj) {
+		return ((NumberObj) obj).doubleValue();
+	}
+
+	/**
+	 * Instruction: OP_ADD
+	 *
+	 * The built-in numbers are computed directly without looking up
+	 * the '_add' method, other objects fall back to the generic path.
+	 */
+	private void evalOpAdd() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		push(add(val1, val2));
+	}
+	
+	private CandyObject add(CandyObject val1, CandyObject val2) {
+		if (isInteger(val1) && isInteger(val2)) {
+			return IntegerObj.valueOf(intValue(val1) + intValue(val2));
+		} else if (isNumber(val1) && isNumber(val2)) {
+			return DoubleObj.valueOf(doubleValue(val1) + doubleValue(val2));
+		}
+		return val1.callAdd(env.cniEnv, val2);
+	}
+	
+	/**
+	 * Instruction: OP_SUB
+	 */
+	private void evalOpSub() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		if (isInteger(val1) && isInteger(val2)) {
+			push(IntegerObj.valueOf(intValue(val1) - intValue(val2)));
+		} else if (isNumber(val1) && isNumber(val2)) {
+			push(DoubleObj.valueOf(doubleValue(val1) - doubleValue(val2)));
+		} else {
+			push(val1.callSub(env.cniEnv, val2));
+		}
+	}
+	
+	/**
+	 * Instruction: OP_MUL
+	 */
+	private void evalOpMul() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		if (isInteger(val1) && isInteger(val2)) {
+			push(IntegerObj.valueOf(intValue(val1) * intValue(val2)));
+		} else if (isNumber(val1) && isNumber(val2)) {
+			push(DoubleObj.valueOf(doubleValue(val1) * doubleValue(val2)));
+		} else {
+			push(val1.callMul(env.cniEnv, val2));
+		}
+	}
+	
+	/**
+	 * Instruction: OP_DIV
+	 */
+	private void evalOpDiv() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		if (isInteger(val1) && isInteger(val2)) {
+			push(IntegerObj.valueOf(intValue(val1) / intValue(val2)));
+		} else if (isNumber(val1) && isNumber(val2)) {
+			push(DoubleObj.valueOf(doubleValue(val1) / doubleValue(val2)));
+		} else {
+			push(val1.callDiv(env.cniEnv, val2));
+		}
+	}
+	
+	/**
+	 * Instruction: OP_MOD
+	 */
+	private void evalOpMod() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		if (isInteger(val1) && isInteger(val2)) {
+			push(IntegerObj.valueOf(intValue(val1) % intValue(val2)));
+		} else if (isNumber(val1) && isNumber(val2)) {
+			push(DoubleObj.valueOf(doubleValue(val1) % doubleValue(val2)));
+		} else {
+			push(val1.callMod(env.cniEnv, val2));
+		}
+	}
+	
+	/**
+	 * Instruction: OP_GT
+	 *
+	 * Numbers are compared as doubles, which is the same as the
+	 * {@code NumberObj.gt}.
+	 */
+	private void evalOpGt() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		push(gt(val1, val2));
+	}
+	
+	private CandyObject gt(CandyObject val1, CandyObject val2) {
+		if (isNumber(val1) && isNumber(val2)) {
+			return BoolObj.valueOf(doubleValue(val1) > doubleValue(val2));
+		}
+		return val1.callGt(env.cniEnv, val2);
+	}
+	
+	/**
+	 * Instruction: OP_GTEQ
+	 */
+	private void evalOpGteq() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		push(gteq(val1, val2));
+	}
+	
+	private CandyObject gteq(CandyObject val1, CandyObject val2) {
+		if (isNumber(val1) && isNumber(val2)) {
+			return BoolObj.valueOf(doubleValue(val1) >= doubleValue(val2));
+		}
+		return val1.callGteq(env.cniEnv, val2);
+	}
+	
+	/**
+	 * Instruction: OP_LT
+	 */
+	private void evalOpLt() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		push(lt(val1, val2));
+	}
+	
+	private CandyObject lt(CandyObject val1, CandyObject val2) {
+		if (isNumber(val1) && isNumber(val2)) {
+			return BoolObj.valueOf(doubleValue(val1) < doubleValue(val2));
+		}
+		return val1.callLt(env.cniEnv, val2);
+	}
+	
+	/**
+	 * Instruction: OP_LTEQ
+	 */
+	private void evalOpLteq() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		push(lteq(val1, val2));
+	}
+	
+	private CandyObject lteq(CandyObject val1, CandyObject val2) {
+		if (isNumber(val1) && isNumber(val2)) {
+			return BoolObj.valueOf(doubleValue(val1) <= doubleValue(val2));
+		}
+		return val1.callLteq(env.cniEnv, val2);
+	}
+	
+	/* -------------------- Constant Objects -------------------- */
+	
+	/*
+	 * The objects of the constants are created once and stored in the
+	 * constant pool, so loading a constant doesn't allocate a new object.
+	 *
+	 * The shared objects must be frozen, otherwise an attribute set on the
+	 * object of one evaluation would be seen by all the later evaluations.
+	 * The number objects are frozen already, and the string objects are
+	 * frozen when they are created.
+	 */
+	
+	private CandyObject integerConstant(int index) {
+		Object obj = cp.getRuntimeConstant(index);
+		if (obj != null) {
+			return (CandyObject) obj;
+		}
+		return (CandyObject) cp.setRuntimeConstant(
+			index, IntegerObj.valueOf(cp.getInteger(index)));
+	}
+	
+	private CandyObject doubleConstant(int index) {
+		Object obj = cp.getRuntimeConstant(index);
+		if (obj != null) {
+			return (CandyObject) obj;
+		}
+		return (CandyObject) cp.setRuntimeConstant(
+			index, DoubleObj.valueOf(cp.getDouble(index)));
+	}
+	
+	private CandyObject stringConstant(int index) {
+		Object obj = cp.getRuntimeConstant(index);
+		if (obj != null) {
+			return (CandyObject) obj;
+		}
+		StringObj str = new StringObj(cp.getString(index));
+		str.freeze();
+		return (CandyObject) cp.setRuntimeConstant(index, str);
+	}
+	
+	/* -------------------- Superinstructions -------------------- */
+	
+	/**
+	 * Instruction: OP_LOAD_ADD_CONST
+	 *
+	 * load slot; iconst c; add
+	 */
+	private void evalOpLoadAddConst() {
+		CandyObject val1 = load(readUint8());
+		long val2 = cp.getInteger(readIndex());
+		if (isInteger(val1)) {
+			push(IntegerObj.valueOf(intValue(val1) + val2));
+		} else {
+			push(add(val1, IntegerObj.valueOf(val2)));
+		}
+	}
+	
+	/**
+	 * Instruction: OP_INC_LOCAL
+	 *
+	 * load slot; iconst c; add; store slot; pop
+	 */
+	private void evalOpIncLocal() {
+		int slot = readUint8();
+		CandyObject val1 = load(slot);
+		long val2 = cp.getInteger(readIndex());
+		if (isInteger(val1)) {
+			store(slot, IntegerObj.valueOf(intValue(val1) + val2));
+		} else {
+			store(slot, add(val1, IntegerObj.valueOf(val2)));
+		}
+	}
+	
+	/**
+	 * Instruction: OP_LT_JUMP_IF_FALSE, OP_LTEQ_JUMP_IF_FALSE,
+	 *              OP_GT_JUMP_IF_FALSE, OP_GTEQ_JUMP_IF_FALSE
+	 *
+	 * Compares the two operands at the stack top and jumps if the result
+	 * is false.
+	 */
+	private void evalOpCompareJumpIfFalse(byte opcode) {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		boolean result;
+		if (isNumber(val1) && isNumber(val2)) {
+			double d1 = doubleValue(val1);
+			double d2 = doubleValue(val2);
+			switch (opcode) {
+				case OP_LT_JUMP_IF_FALSE:   result = d1 < d2;  break;
+				case OP_LTEQ_JUMP_IF_FALSE: result = d1 <= d2; break;
+				case OP_GT_JUMP_IF_FALSE:   result = d1 > d2;  break;
+				default:                    result = d1 >= d2; break;
+			}
+		} else {
+			CandyObject obj;
+			switch (opcode) {
+				case OP_LT_JUMP_IF_FALSE:   obj = lt(val1, val2);   break;
+				case OP_LTEQ_JUMP_IF_FALSE: obj = lteq(val1, val2); break;
+				case OP_GT_JUMP_IF_FALSE:   obj = gt(val1, val2);   break;
+				default:                    obj = gteq(val1, val2); break;
+			}
+			result = obj.boolValue(env.cniEnv).value();
+		}
+		frame.pc += result ? 2 : readJumpOffset();
+	}
+	
+	/* -------------------- Counted Range Loops -------------------- */
+	
+	/**
+	 * Instruction: OP_RANGE_PREPARE counter, offset
+	 *
+	 * If the iterable at the stack top is a built-in Range, pops it,
+	 * stores a range iterator to the counter slot and jumps to the loop.
+	 * Otherwise, clears the counter slot and falls through to the iterator
+	 * protocol.
+	 */
+	private void evalOpRangePrepare() {
+		int counterSlot = readUint8();
+		CandyObject iterable = peek(0);
+		if (iterable.getClass() == Range.class &&
+		    iterable.getCandyClass() == Range.RANGE_CLASS &&
+		    iterable.indexOfMetaData(Names.METHOD_ITERATOR) < 0) {
+			Range range = (Range) iterable;
+			if (isInteger(range.getLeftObj()) && isInteger(range.getRightObj())) {
+				pop();
+				store(counterSlot, new IteratorObj.RangeIterator(
+					range.getLeft(), range.getRight()));
+				frame.pc += readJumpOffset();
+				return;
+			}
+		}
+		store(counterSlot, NullPointer.nil());
+		frame.pc += 2;
+	}
+	
+	/**
+	 * Instruction: OP_RANGE_NEXT counter, var, exitOffset, bodyOffset
+	 *
+	 * Stores the next integer to the variable and jumps to the loop body,
+	 * or jumps out of the loop if the range is exhausted. Falls through to
+	 * the iterator protocol if the counter slot is cleared.
+	 */
+	private void evalOpRangeNext() {
+		CandyObject counter = load(readUint8());
+		int varSlot = readUint8();
+		if (counter == NullPointer.nil()) {
+			frame.pc += 4;
+			return;
+		}
+		IteratorObj.RangeIterator iterator = (IteratorObj.RangeIterator) counter;
+		if (!iterator.hasNext(env.cniEnv)) {
+			frame.pc += readJumpOffset();
+			return;
+		}
+		store(varSlot, iterator.next(env.cniEnv));
+		frame.pc += 2;
+		frame.pc += readJumpOffset();
+	}
+	
+	/**
+	 * Instruction: OP_EQ, OP_NOTEQ
+	 *
+	 * Returns the result of the equality test of the two operands at
+	 * the stack top.
+	 */
+	private BoolObj evalOpEquals() {
+		CandyObject val2 = pop();
+		CandyObject val1 = pop();
+		if (isNumber(val1) && isNumber(val2)) {
+			return BoolObj.valueOf(doubleValue(val1) == doubleValue(val2));
+		}
+		return val1.callEquals(env.cniEnv, val2);
+	}
+
 	public static CandyClass checkIsErrorClass(CandyObject obj) {
 		String name;
 		if (obj instanceof CandyClass) {
@@ -342,7 +842,8 @@ public class CandyV1Evaluator implements Evaluator {
 	}
 
 	private CandyObject getGlobalVariable(int index, boolean throwsErrorIfNotFound) {
-		CandyObject obj = env.getVariableValue(index);
+		Variable v = env.curFileEnv.getVariableTable().resolveVariable(index);
+		CandyObject obj = v != null ? v.getValue() : null;
 		if (obj == null && throwsErrorIfNotFound) {
 			new NameError("the variable '%s' not found.", env.getVariableName(index))
 				.throwSelfNative();
@@ -363,7 +864,7 @@ public class CandyV1Evaluator implements Evaluator {
 
 	@Override
 	public void enterFunction(PrototypeFunction function) {
-		pushFrame(Frame.fetchFrame(function, opStack));
+		pushFrame(stack.fetchFrame(function, opStack));
 	}
 	
 	@Override
@@ -378,6 +879,21 @@ public class CandyV1Evaluator implements Evaluator {
 		return pop();
 	}
 	
+	@Override
+	public CandyObject evalTask(CallableObj fn, CandyObject... args) {
+		throwUnhandledErrors = true;
+		try {
+			return eval(fn, EMPTY_UNPACK_FLAGS, args);
+		} catch (Throwable t) {
+			// Clears the operands left by the failed call.
+			opStack.clearOperands(0);
+			opStack.sp = 0;
+			throw t;
+		} finally {
+			throwUnhandledErrors = false;
+		}
+	}
+	
 	@Override
 	public void call(CallableObj fn, int argc, int unpackFlags) {
 		argc = checkArgument(fn, argc, unpackFlags);
@@ -429,7 +945,7 @@ public class CandyV1Evaluator implements Evaluator {
 			file.getChunk(), env.curFileEnv
 		);
 		// OP_EXIT will return the eval method.
-		eval(Frame.fetchFrame(topFunction, opStack), false);
+		eval(stack.fetchFrame(topFunction, opStack), false);
 		ModuleObj moudleObj = 
 			env.curFileEnv.generateModuleObject();
 		popFrame();
@@ -471,7 +987,11 @@ public class CandyV1Evaluator implements Evaluator {
 				}
 				throw e;
 			} catch (Throwable e) {
-				if (!tryToHandleError(ErrorObj.asErrorObj(e), true)) {
+				ErrorObj err = ErrorObj.asErrorObj(e);
+				if (!tryToHandleError(err, !throwUnhandledErrors)) {
+					if (throwUnhandledErrors) {
+						err.throwSelfNative();
+					}
 					// unable to catch the thrown error and throws 
 					// the exception to tell the interpreter to end the 
 					// current thread.
@@ -480,16 +1000,27 @@ public class CandyV1Evaluator implements Evaluator {
 				if (stack.sp() >= stack.getCurrentDepth()) {
 					continue;
 				}
-				throw new ContinueRunException();
+				throw new ContinueRunException(err);
 			}		
 		}
 	}
 	
+	/**
+	 * Called before every instruction is executed.
+	 *
+	 * <p>It does nothing in this evaluator and is only overridden by the
+	 * {@link CountingEvaluator}, which is loaded only if it's selected. So
+	 * the JIT compiler inlines this empty method by the class hierarchy
+	 * analysis and the dispatch loop pays nothing for it.
+	 */
+	protected void beforeInstruction(Frame frame, byte opcode) {}
+	
 	private void evalCore() {
 		OperandStack opStack = this.opStack;
 		Frame frame = this.frame;
 		byte[] code = this.code;
 		loop: for (;;) {
+			beforeInstruction(frame, code[frame.pc]);
 			switch (code[frame.pc ++]) {
 				case OP_NOP: break;
 				case OP_POP: {
@@ -552,6 +1083,13 @@ public class CandyV1Evaluator implements Evaluator {
 					frame.pc -= readJumpOffset();
 					break;
 				}		
+				case OP_LT_JUMP_IF_FALSE:
+				case OP_LTEQ_JUMP_IF_FALSE:
+				case OP_GT_JUMP_IF_FALSE:
+				case OP_GTEQ_JUMP_IF_FALSE: {
+					evalOpCompareJumpIfFalse(code[frame.pc - 1]);
+					break;
+				}
 
 				/**
 				 * Unary Operations.
@@ -573,33 +1111,23 @@ public class CandyV1Evaluator implements Evaluator {
 				 * Alrithmetical Operations.
 				 */		
 				case OP_ADD: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callAdd(env.cniEnv, val2));
+					evalOpAdd();
 					break;
 				}
 				case OP_SUB: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callSub(env.cniEnv, val2));
+					evalOpSub();
 					break;
 				}				
 				case OP_MUL: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callMul(env.cniEnv, val2));
+					evalOpMul();
 					break;
 				}				
 				case OP_DIV: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callDiv(env.cniEnv, val2));
+					evalOpDiv();
 					break;
 				}
 				case OP_MOD: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callMod(env.cniEnv, val2));
+					evalOpMod();
 					break;
 				}
 
@@ -615,39 +1143,27 @@ public class CandyV1Evaluator implements Evaluator {
 					break;
 				}	
 				case OP_GT: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callGt(env.cniEnv, val2));
+					evalOpGt();
 					break;
 				}
 				case OP_GTEQ: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callGteq(env.cniEnv, val2));
+					evalOpGteq();
 					break;
 				}
 				case OP_LT: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callLt(env.cniEnv, val2));
+					evalOpLt();
 					break;
 				}
 				case OP_LTEQ: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callLteq(env.cniEnv, val2));
+					evalOpLteq();
 					break;
 				}
 				case OP_EQ: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callEquals(env.cniEnv, val2));
+					opStack.push(evalOpEquals());
 					break;
 				}
 				case OP_NOTEQ: {
-					CandyObject val2 = opStack.pop();
-					CandyObject val1 = opStack.pop();
-					opStack.push(val1.callEquals(env.cniEnv, val2).not(env.cniEnv));
+					opStack.push(evalOpEquals().not(env.cniEnv));
 					break;
 				}
 				
@@ -686,15 +1202,15 @@ public class CandyV1Evaluator implements Evaluator {
 					break;
 				}		
 				case OP_DCONST: {
-					opStack.push(DoubleObj.valueOf(cp.getDouble(readIndex())));
+					opStack.push(doubleConstant(readIndex()));
 					break;
 				}		
 				case OP_ICONST: {
-					opStack.push(IntegerObj.valueOf(cp.getInteger(readIndex())));
+					opStack.push(integerConstant(readIndex()));
 					break;
 				}		
 				case OP_SCONST: {
-					opStack.push(StringObj.valueOf(cp.getString(readIndex())));
+					opStack.push(stringConstant(readIndex()));
 					break;
 				}
 				case OP_FALSE: {
@@ -738,6 +1254,14 @@ public class CandyV1Evaluator implements Evaluator {
 					break;
 				}
 
+				/**
+				 * String
+				 */
+				case OP_CONCAT: {
+					evalOpConcat();
+					break;
+				}
+
 				/**
 				 * Global Operarions.
 				 */
@@ -806,6 +1330,22 @@ public class CandyV1Evaluator implements Evaluator {
 					opStack.operands[bp + readUint8()] = opStack.pop();
 					break;
 				}
+				case OP_RANGE_PREPARE: {
+					evalOpRangePrepare();
+					break;
+				}
+				case OP_RANGE_NEXT: {
+					evalOpRangeNext();
+					break;
+				}
+				case OP_LOAD_ADD_CONST: {
+					evalOpLoadAddConst();
+					break;
+				}
+				case OP_INC_LOCAL: {
+					evalOpIncLocal();
+					break;
+				}
 
 				/**
 				 * Close Upvalues
@@ -834,13 +1374,11 @@ public class CandyV1Evaluator implements Evaluator {
 				 * Object Operations.
 				 */
 				case OP_GET_ATTR: {
-					opStack.push(opStack.pop().callGetAttr(env.cniEnv, cp.getString(readIndex())));
+					evalOpGetAttr();
 					break;
 				}		
 				case OP_SET_ATTR: {
-					CandyObject obj = opStack.pop();
-					CandyObject value = opStack.pop();
-					opStack.push(obj.callSetAttr(env.cniEnv, cp.getString(readIndex()), value));
+					evalOpSetAttr();
 					break;
 				}
 				case OP_GET_ITEM: {
@@ -911,11 +1449,7 @@ public class CandyV1Evaluator implements Evaluator {
 					break;
 				}
 				case OP_INVOKE: {
-					int arity = readUint8();
-					String attr = cp.getString(readIndex());
-					CandyObject method = opStack.pop().callGetAttr(env.cniEnv, attr);
-					call(TypeError.requiresCallable(method),
-						arity, EMPTY_UNPACK_FLAGS);
+					evalOpInvoke();
 					frame = this.frame;
 					code = this.code;
 					break;
@@ -1,14 +1,27 @@
 package com.nano.candy.interpreter.runtime;
 import com.nano.candy.interpreter.builtin.type.error.ErrorObj;
 
+/**
+ * Carries a Candy error through the Java stack.
+ *
+ * <p>The Java stack trace is not filled in, because Candy errors are
+ * reported with the Candy stack and they are raised frequently by the
+ * Candy programs for control flow.
+ */
 public class CarrierErrorException extends RuntimeException {
 	private ErrorObj errorObj;
 
 	public CarrierErrorException(ErrorObj errorObj) {
+		super(null, null, false, false);
 		this.errorObj = errorObj;
 	}
 
 	public ErrorObj getErrorObj() {
 		return errorObj;
 	}
+
+	@Override
+	public String getMessage() {
+		return errorObj.getCandyClassName() + ": " + errorObj.getMessage();
+	}
 }
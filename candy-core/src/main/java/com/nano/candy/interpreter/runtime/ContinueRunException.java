@@ -1,4 +1,24 @@
 package com.nano.candy.interpreter.runtime;
 
+import com.nano.candy.interpreter.builtin.type.error.ErrorObj;
+
+/**
+ * Unwinds the native calls between the frame raising an error and the
+ * frame handling it.
+ */
 public class ContinueRunException extends RuntimeException{
+	
+	private final ErrorObj error;
+	
+	public ContinueRunException(ErrorObj error) {
+		super(null, null, false, false);
+		this.error = error;
+	}
+	
+	/**
+	 * Returns the error which is being handled.
+	 */
+	public ErrorObj getErrorObj() {
+		return error;
+	}
 }
@@ -0,0 +1,32 @@
+package com.nano.candy.interpreter.runtime;
+
+/**
+ * An evaluator that counts the executed instructions into an
+ * {@link InstructionProfile}.
+ *
+ * <p>It's selected by {@code InterpreterOptions.setIsCountingInstructions}
+ * instead of the {@link CandyV1Evaluator}, so the default evaluator is
+ * not slowed down by the counters.
+ */
+final class CountingEvaluator extends CandyV1Evaluator {
+
+	private final InstructionProfile.Counters counters;
+
+	CountingEvaluator(EvaluatorEnv env) {
+		super(env);
+		this.counters = InstructionProfile.newCounters();
+	}
+
+	/**
+	 * Merges the counters of this evaluator into the totals, it's called
+	 * when the thread of this evaluator terminates.
+	 */
+	void release() {
+		InstructionProfile.release(counters);
+	}
+
+	@Override
+	protected void beforeInstruction(Frame frame, byte opcode) {
+		counters.count(frame, opcode);
+	}
+}
@@ -19,8 +19,19 @@ public interface Evaluator {
 	public CandyObject eval(CallableObj fn, int unpackFlags, 
 	                        CandyObject... args);
 	
+	/**
+	 * Evaluates the fn like {@code eval}, but an error raised by the fn 
+	 * that is not handled is thrown to the Java caller instead of being
+	 * printed and terminating the current thread.
+	 *
+	 * <p>It's only called when the stack is empty, e.g. by the workers of
+	 * a {@link CandyExecutor}.
+	 */
+	public CandyObject evalTask(CallableObj fn, CandyObject... args);
+	
 	public void enterFunction(PrototypeFunction function);
 	public Frame[] getStack();
+	public StackSnapshot captureStack();
 	
 	public ModuleObj eval(Chunk chunk);
 	public ModuleObj eval(CompiledFileInfo file);
@@ -46,10 +46,22 @@ public class EvaluatorEnv {
 	protected EvaluatorEnv(CandyThread thread, InterpreterOptions options) {
 		this.thread = thread;
 		this.options = options;
-		this.evaluator = new CandyV1Evaluator(this);
+		this.evaluator = options.isCountingInstructions() ?
+			new CountingEvaluator(this) : new CandyV1Evaluator(this);
 		this.cniEnv = new CNIEnv(this, evaluator);
 	}
 	
+	/**
+	 * Called when the thread of this environment terminates.
+	 */
+	void release() {
+		// Checks the option first so that the CountingEvaluator is never
+		// loaded when the instructions are not counted.
+		if (options.isCountingInstructions()) {
+			((CountingEvaluator) evaluator).release();
+		}
+	}
+	
 	public Evaluator getEvaluator() {
 		return evaluator;
 	}
@@ -62,6 +74,10 @@ public class EvaluatorEnv {
 		return evaluator.getStack();
 	}
 	
+	public StackSnapshot captureStack() {
+		return evaluator.captureStack();
+	}
+	
 	public InterpreterOptions getOptions() {
 		return options;
 	}
@@ -117,10 +133,7 @@ public class EvaluatorEnv {
 	}
 
 	public Variable getVariable(int index) {
-		VariableTable vars = curFileEnv.getVariableTable();
-		Variable v = vars.getVariable(index);
-		return v != null ? v : 
-			BuiltinVariables.getVariable(vars.getVariableName(index));
+		return curFileEnv.getVariableTable().resolveVariable(index);
 	}
 
 	public Variable getVariable(String name) {
@@ -5,12 +5,19 @@ import com.nano.candy.code.CodeAttribute;
 import com.nano.candy.code.ConstantValue;
 import com.nano.candy.code.ErrorHandlerTable;
 import com.nano.candy.interpreter.builtin.type.PrototypeFunction;
+import com.nano.candy.utils.objpool.Recyclable;
 
-public final class Frame {
+/**
+ * Frames are recycled by the {@link FrameStack} after they are popped,
+ * so a frame must not be referenced after it leaves the stack.
+ */
+public final class Frame implements Recyclable {
 	
 	public static Frame fetchFrame(PrototypeFunction prototypeFunc, 
 								   OperandStack opStack) {	
-		return new Frame(opStack, prototypeFunc);
+		Frame frame = new Frame();
+		frame.init(opStack, prototypeFunc);
+		return frame;
 	}
 	
 	/**
@@ -49,13 +56,26 @@ public final class Frame {
 	 * frame.
 	 */
 	private Upvalue[] openUpvalues;
+	private boolean hasOpenUpvalues;
 	
-	private Frame(OperandStack opStack, PrototypeFunction prototypeFunc) {
+	protected Frame() {}
+	
+	protected void init(OperandStack opStack, PrototypeFunction prototypeFunc) {
 		this.closure = prototypeFunc;
 		this.pc = prototypeFunc.pc;
 		this.bp = opStack.sp - prototypeFunc.arity();
 	}
 	
+	/**
+	 * Called when this frame is recycled, all the upvalues must have been
+	 * closed before.
+	 */
+	@Override
+	public void release() {
+		this.closure = null;
+		this.exitRunAtReturn = false;
+	}
+	
 	public Upvalue[] captureUpvalueObjs(OperandStack opStack, ConstantValue.MethodInfo methodInfo) {
 		final int COUNT = methodInfo.upvalueCount();
 		if (COUNT == 0) {
@@ -80,21 +100,25 @@ public final class Frame {
 	 * Captures a local variable in this frame.
 	 */
 	private Upvalue captureUpvalue(OperandStack opStack, int index) {
-		if (openUpvalues == null) { /* lazy init */
+		// The array is reused by the next function run in this frame,
+		// so it's reallocated only if it's too short.
+		if (openUpvalues == null || openUpvalues.length < getMaxLocal()) {
 			openUpvalues = new Upvalue[getMaxLocal()];
 		} else if (openUpvalues[index] != null) { // Find the same upvalue.
 			return openUpvalues[index];
 		}
-		Upvalue openUpvalue = new Upvalue(opStack.operands, bp + index);
+		Upvalue openUpvalue = new Upvalue(opStack, bp + index);
 		openUpvalues[index] = openUpvalue;
+		hasOpenUpvalues = true;
 		return openUpvalue;
 	}
 	
 	protected void closeUpvalues(ConstantValue.CloseIndexes closeInfo) {
-		if (openUpvalues == null) {
+		if (!hasOpenUpvalues) {
 			return;
 		}
-		for (int i = 0; i < openUpvalues.length; i ++) {
+		final int maxLocal = getMaxLocal();
+		for (int i = 0; i < maxLocal; i ++) {
 			if (closeInfo.hasUpvalueIndex(i) && openUpvalues[i] != null) {
 				openUpvalues[i].close();
 				openUpvalues[i] = null;
@@ -103,14 +127,17 @@ public final class Frame {
 	}
 	
 	protected void closeAllUpvalues() {
-		if (openUpvalues == null) {
+		if (!hasOpenUpvalues) {
 			return;
 		}
-		for (Upvalue upvalue : openUpvalues) {
-			if (upvalue != null)
-				upvalue.close();
+		final int maxLocal = getMaxLocal();
+		for (int i = 0; i < maxLocal; i ++) {
+			if (openUpvalues[i] != null) {
+				openUpvalues[i].close();
+				openUpvalues[i] = null;
+			}
 		}
-		openUpvalues = null;
+		hasOpenUpvalues = false;
 	}
 	
 	/**
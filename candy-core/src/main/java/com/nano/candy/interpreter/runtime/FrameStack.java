@@ -1,10 +1,17 @@
 package com.nano.candy.interpreter.runtime;
 
+import com.nano.candy.interpreter.builtin.type.PrototypeFunction;
 import com.nano.candy.interpreter.builtin.type.error.StackOverflowError;
+import com.nano.candy.utils.objpool.GenericObjectPool;
 import java.util.Arrays;
 import java.util.LinkedList;
 
 public final class FrameStack {
+	
+	/**
+	 * The max number of the free frames kept by a frame stack.
+	 */
+	private static final int FRAME_POOL_SIZE = 128;
 
 	private Frame[] stack;
 	private int sp;
@@ -13,11 +20,37 @@ public final class FrameStack {
 	
 	private final LinkedList<Integer> depthMarks;
 	
+	/**
+	 * The popped frames are reused by the subsequent calls, so that
+	 * calling functions doesn't allocate frames in the steady state.
+	 */
+	private final GenericObjectPool<Frame> framePool;
+	
 	public FrameStack(int maxStackDeepth) {
 		this.maxStackDeepth = maxStackDeepth;
 		this.sp = 1;
 		this.stack = new Frame[16];
 		this.depthMarks = new LinkedList<>();
+		this.framePool = new GenericObjectPool<>(FRAME_POOL_SIZE, new Frame[0]);
+	}
+	
+	/**
+	 * Returns a free frame to run the specified function.
+	 */
+	public Frame fetchFrame(PrototypeFunction prototypeFunc, OperandStack opStack) {
+		Frame frame = framePool.fetch();
+		if (frame == null) {
+			return Frame.fetchFrame(prototypeFunc, opStack);
+		}
+		frame.init(opStack, prototypeFunc);
+		return frame;
+	}
+	
+	/**
+	 * Recycles the specified frame that has been popped.
+	 */
+	public void recycle(Frame frame) {
+		framePool.recycle(frame);
 	}
 	
 	public int sp() {
@@ -73,6 +106,7 @@ public final class FrameStack {
 	public void clearFrame() {
 		for (int i = 1; i < sp; i ++) {
 			stack[i].closeAllUpvalues();
+			framePool.recycle(stack[i]);
 			stack[i] = null;
 		}
 		this.sp = 1;
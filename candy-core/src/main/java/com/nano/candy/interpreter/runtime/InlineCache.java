@@ -0,0 +1,248 @@
+package com.nano.candy.interpreter.runtime;
+
+import com.nano.candy.interpreter.builtin.CandyClass;
+import com.nano.candy.interpreter.builtin.CandyObject;
+import com.nano.candy.interpreter.builtin.type.CallableObj;
+import com.nano.candy.interpreter.builtin.utils.Shape;
+import com.nano.candy.std.AttributeModifiers;
+
+/**
+ * A polymorphic inline cache of an attribute instruction
+ * ({@code OP_GET_ATTR}, {@code OP_SET_ATTR} and {@code OP_INVOKE}).
+ *
+ * <p>A cache is a list of entries, each entry remembers a receiver type
+ * seen by the instruction, the receiver type consists of the Candy class,
+ * the Java class and the attribute shape of the receiver. If the receiver
+ * type matches an entry, the evaluator can bypass the attribute accessors,
+ * access the attribute by the cached slot index and find the method of
+ * the receiver without hash lookups and without binding the method to the
+ * receiver.
+ *
+ * <p>A miss adds an entry in front of the entries of the cache. Once an
+ * instruction has seen more than {@link #MAX_ENTRIES} receiver types, its
+ * cache becomes {@link #MEGAMORPHIC} and the instruction always takes the
+ * full lookup.
+ *
+ * <p>The entries are immutable, so a cache can be shared by the threads
+ * running the same function. A miss replaces the cache of the
+ * instruction.
+ */
+public final class InlineCache {
+
+	/**
+	 * The maximum number of the receiver types cached by an instruction.
+	 */
+	public static final int MAX_ENTRIES = 4;
+
+	/**
+	 * The cache of the instructions that have seen too many receiver
+	 * types. It matches no receiver.
+	 */
+	public static final InlineCache MEGAMORPHIC = new InlineCache(
+		null, null, null, null, false, null, false, false, null);
+
+	/**
+	 * Returns the cache with a new entry for the receiver in front of the
+	 * entries of the specified cache, or {@link #MEGAMORPHIC} if the
+	 * specified cache is full.
+	 *
+	 * @param cache the cache of the instruction, nullable.
+	 */
+	public static InlineCache add(InlineCache cache, CandyObject receiver, 
+	                              String name) {
+		if (cache != null && cache.entries >= MAX_ENTRIES) {
+			return MEGAMORPHIC;
+		}
+		return create(receiver, name, cache);
+	}
+
+	private static InlineCache create(CandyObject receiver, String name,
+	                                  InlineCache next) {
+		boolean isAccessedFromThis = AttributeModifiers.isAccessedFromThis(name);
+		if (isAccessedFromThis) {
+			name = AttributeModifiers.getAttrNameIfAccessedFromThis(name);
+		}
+		CandyClass klass = receiver.getCandyClass();
+		return new InlineCache(
+			klass, receiver.getClass(), receiver.getShape(), 
+			name, isAccessedFromThis,
+			klass.getMethod(name),
+			receiver.hasDefaultAttrGetter(),
+			receiver.hasDefaultAttrSetter(),
+			next
+		);
+	}
+
+	private final CandyClass klass;
+	private final Class<?> javaClass;
+	
+	/**
+	 * The shape of the receiver, null if the receiver is in the
+	 * dictionary mode.
+	 */
+	private final Shape shape;
+
+	/**
+	 * The attribute name without the prefix {@code '.'}.
+	 */
+	private final String name;
+
+	/**
+	 * The unbound method found in the class of the receiver, nullable.
+	 */
+	private final CallableObj method;
+
+	private final boolean defaultGetter;
+	private final boolean defaultSetter;
+	
+	/**
+	 * The slot index of the attribute in the shape or -1 if the 
+	 * attribute is not present in the shape.
+	 */
+	private final int slot;
+	private final boolean isReadableSlot;
+	private final boolean isWritableSlot;
+	
+	private final boolean isAccessedFromThis;
+	
+	/**
+	 * The next entry of the cache, nullable.
+	 */
+	private final InlineCache next;
+	
+	/**
+	 * The number of the entries from this entry to the last entry.
+	 */
+	private final int entries;
+
+	private InlineCache(CandyClass klass, Class<?> javaClass, Shape shape,
+	                    String name, boolean isAccessedFromThis, 
+	                    CallableObj method,
+	                    boolean defaultGetter, boolean defaultSetter,
+	                    InlineCache next) {
+		this.klass = klass;
+		this.javaClass = javaClass;
+		this.shape = shape;
+		this.name = name;
+		this.isAccessedFromThis = isAccessedFromThis;
+		this.method = method;
+		this.defaultGetter = defaultGetter;
+		this.defaultSetter = defaultSetter;
+		this.next = next;
+		this.entries = next == null ? 1 : next.entries + 1;
+		
+		this.slot = shape == null ? -1 : shape.indexOf(name);
+		if (slot >= 0) {
+			byte modifiers = shape.getModifiers(slot);
+			this.isReadableSlot = isReadable(modifiers);
+			this.isWritableSlot = isWritable(modifiers);
+		} else {
+			this.isReadableSlot = false;
+			this.isWritableSlot = false;
+		}
+	}
+	
+	private boolean isReadable(byte modifiers) {
+		return isAccessedFromThis || 
+			!AttributeModifiers.isPrivate(modifiers) && 
+			!AttributeModifiers.isWriteOnly(modifiers);
+	}
+	
+	private boolean isWritable(byte modifiers) {
+		if (AttributeModifiers.isBuiltin(modifiers)) {
+			return false;
+		}
+		return isAccessedFromThis ||
+			!AttributeModifiers.isPrivate(modifiers) && 
+			!AttributeModifiers.isReadOnly(modifiers);
+	}
+
+	public boolean matches(CandyObject receiver) {
+		return receiver.getClass() == javaClass &&
+			receiver.getCandyClass() == klass &&
+			receiver.getShape() == shape;
+	}
+
+	/**
+	 * Returns the entry matching the receiver type or {@code null} if
+	 * no entry matches.
+	 */
+	public InlineCache find(CandyObject receiver) {
+		InlineCache entry = this;
+		do {
+			if (entry.matches(receiver)) {
+				return entry;
+			}
+			entry = entry.next;
+		} while (entry != null);
+		return null;
+	}
+
+	/**
+	 * Returns the method of the receiver if the receiver can be passed
+	 * as the last argument of the method directly, that is, the attribute
+	 * is resolved to the method and the call has no arguments to be
+	 * unpacked. Otherwise returns {@code null}.
+	 */
+	public CallableObj findDirectMethod(CandyObject receiver, int argc) {
+		CallableObj method = findMethod(receiver);
+		if (method == null || method.arity() != argc + 1 || 
+		    method.vaargIndex() >= 0 || method.optionalArgFlags() != 0) {
+			return null;
+		}
+		return method;
+	}
+	
+	/**
+	 * Returns the unbound method of the receiver or {@code null} if the
+	 * attribute is not resolved to a method of the class.
+	 */
+	public CallableObj findMethod(CandyObject receiver) {
+		if (!defaultGetter || method == null) {
+			return null;
+		}
+		// An attribute of the receiver hides the method.
+		if (shape != null) {
+			return slot < 0 ? method : null;
+		}
+		return receiver.indexOfMetaData(name) < 0 ? method : null;
+	}
+
+	/**
+	 * Returns the index of the readable attribute of the receiver or 
+	 * {@code -1} if the attribute is not present or it can't be read
+	 * directly.
+	 */
+	public int findReadableAttr(CandyObject receiver) {
+		if (!defaultGetter) {
+			return -1;
+		}
+		if (shape != null) {
+			return isReadableSlot ? slot : -1;
+		}
+		int index = receiver.indexOfMetaData(name);
+		if (index < 0) {
+			return -1;
+		}
+		return isReadable(receiver.getMetaDataModifiersAt(index)) ? index : -1;
+	}
+
+	/**
+	 * Returns the index of the writable attribute of the receiver or
+	 * {@code -1} if the attribute is not present or it can't be written
+	 * directly.
+	 */
+	public int findWritableAttr(CandyObject receiver) {
+		if (!defaultSetter || receiver.frozen()) {
+			return -1;
+		}
+		if (shape != null) {
+			return isWritableSlot ? slot : -1;
+		}
+		int index = receiver.indexOfMetaData(name);
+		if (index < 0) {
+			return -1;
+		}
+		return isWritable(receiver.getMetaDataModifiersAt(index)) ? index : -1;
+	}
+}
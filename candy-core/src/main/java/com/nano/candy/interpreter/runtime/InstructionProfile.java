@@ -0,0 +1,314 @@
+package com.nano.candy.interpreter.runtime;
+
+import com.nano.candy.code.Chunk;
+import com.nano.candy.code.CodeAttribute;
+import com.nano.candy.code.OpCodes;
+import com.nano.candy.utils.TableView;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nano.candy.code.OpCodes.*;
+
+/**
+ * The instructions executed by the {@link CountingEvaluator}s: the counts
+ * of every opcode, of every pair of the adjacent opcodes, of the
+ * instructions executed in every function and of the calls made at every
+ * call site.
+ *
+ * <p>Every evaluator counts into its own counters without any
+ * synchronization. When the thread of an evaluator terminates, its
+ * counters are merged into the shared totals and dropped, so only the
+ * counters of the running threads are kept. The counters of the wrapped
+ * Java threads (the main thread and the workers of executors) are merged
+ * once their Java threads die.
+ */
+public final class InstructionProfile {
+
+	private static final int N = OpCodes.INSTRUCTION_NUMBER;
+
+	/**
+	 * The dead counters of the wrapped Java threads are looked for every
+	 * time this number of counters is created.
+	 */
+	private static final int SWEEP_INTERVAL = 1024;
+
+	private static final Set<Counters> LIVE_COUNTERS =
+		ConcurrentHashMap.newKeySet();
+
+	private static final AtomicInteger createdCounters = new AtomicInteger();
+
+	private static final Object TOTALS_LOCK = new Object();
+
+	/**
+	 * The merged counters of the terminated threads, guarded by the
+	 * {@code TOTALS_LOCK}.
+	 */
+	private static Totals terminatedTotals = new Totals();
+
+	/**
+	 * Returns new counters for the evaluator of the current thread.
+	 */
+	static Counters newCounters() {
+		Counters counters = new Counters(Thread.currentThread());
+		LIVE_COUNTERS.add(counters);
+		if (createdCounters.incrementAndGet() % SWEEP_INTERVAL == 0) {
+			mergeDeadCounters();
+		}
+		return counters;
+	}
+
+	/**
+	 * Merges the counters into the totals when the thread counting into
+	 * them terminates.
+	 */
+	static void release(Counters counters) {
+		if (LIVE_COUNTERS.remove(counters)) {
+			synchronized (TOTALS_LOCK) {
+				terminatedTotals.add(counters);
+			}
+		}
+	}
+
+	private static void mergeDeadCounters() {
+		for (Counters counters : LIVE_COUNTERS) {
+			if (!counters.owner.isAlive()) {
+				release(counters);
+			}
+		}
+	}
+
+	/**
+	 * Discards all the counted instructions.
+	 */
+	public static void reset() {
+		LIVE_COUNTERS.clear();
+		synchronized (TOTALS_LOCK) {
+			terminatedTotals = new Totals();
+		}
+	}
+
+	private static boolean isCall(byte opcode) {
+		switch (opcode) {
+			case OP_INVOKE:
+			case OP_SUPER_INVOKE:
+			case OP_CALL_GLOBAL:
+			case OP_CALL_SLOT:
+			case OP_CALL_EX:
+			case OP_CALL:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	static final class FunctionCounter {
+		final String name;
+		final Chunk chunk;
+		long instructions;
+
+		/**
+		 * The number of calls and the opcode at each pc of the call
+		 * instructions.
+		 */
+		final HashMap<Integer, long[]> callSites = new HashMap<>();
+
+		/**
+		 * The functions are named by their full names, files and the lines
+		 * their code starts at, so the functions with the same name, such
+		 * as the initializers of the classes, can be told apart.
+		 */
+		FunctionCounter(Frame frame) {
+			this.chunk = frame.getChunk();
+			this.name = frame.closure.fullName() + " (" +
+				new File(frame.getSourceFileName()).getName() + ":" +
+				chunk.getLineNumber(frame.getCodeAttr().fromPc) + ")";
+		}
+
+		FunctionCounter(FunctionCounter f) {
+			this.name = f.name;
+			this.chunk = f.chunk;
+		}
+
+		void add(FunctionCounter f) {
+			instructions += f.instructions;
+			for (Map.Entry<Integer, long[]> e : f.callSites.entrySet()) {
+				long[] calls = callSites.get(e.getKey());
+				if (calls == null) {
+					calls = new long[]{0, e.getValue()[1]};
+					callSites.put(e.getKey(), calls);
+				}
+				calls[0] += e.getValue()[0];
+			}
+		}
+	}
+
+	static final class Counters {
+		final Thread owner;
+		final long[] opcodes = new long[N];
+		final long[] pairs = new long[N*N];
+		final IdentityHashMap<CodeAttribute, FunctionCounter> functions =
+			new IdentityHashMap<>();
+
+		private int previous = -1;
+		private CodeAttribute lastCode;
+		private FunctionCounter lastFunction;
+
+		Counters(Thread owner) {
+			this.owner = owner;
+		}
+
+		void count(Frame frame, byte opcode) {
+			int op = opcode & 0xFF;
+			if (op >= N) {
+				return;
+			}
+			opcodes[op] ++;
+			if (previous >= 0) {
+				pairs[previous*N + op] ++;
+			}
+			previous = op;
+
+			CodeAttribute code = frame.getCodeAttr();
+			if (code != lastCode) {
+				lastFunction = functions.get(code);
+				if (lastFunction == null) {
+					lastFunction = new FunctionCounter(frame);
+					functions.put(code, lastFunction);
+				}
+				lastCode = code;
+			}
+			lastFunction.instructions ++;
+			if (isCall(opcode)) {
+				long[] calls = lastFunction.callSites.get(frame.pc);
+				if (calls == null) {
+					calls = new long[]{0, op};
+					lastFunction.callSites.put(frame.pc, calls);
+				}
+				calls[0] ++;
+			}
+		}
+	}
+
+	/**
+	 * The counts merged from counters. The functions are still identified
+	 * by their code attributes until the report is made.
+	 */
+	private static final class Totals {
+		final long[] opcodes = new long[N];
+		final long[] pairs = new long[N*N];
+		final IdentityHashMap<CodeAttribute, FunctionCounter> functions =
+			new IdentityHashMap<>();
+
+		void add(Counters counters) {
+			add(counters.opcodes, counters.pairs, counters.functions);
+		}
+
+		void add(Totals totals) {
+			add(totals.opcodes, totals.pairs, totals.functions);
+		}
+
+		private void add(long[] opcodes, long[] pairs,
+		                 Map<CodeAttribute, FunctionCounter> functions) {
+			for (int i = 0; i < N; i ++) {
+				this.opcodes[i] += opcodes[i];
+			}
+			for (int i = 0; i < N*N; i ++) {
+				this.pairs[i] += pairs[i];
+			}
+			for (Map.Entry<CodeAttribute, FunctionCounter> e : functions.entrySet()) {
+				FunctionCounter f = this.functions.get(e.getKey());
+				if (f == null) {
+					f = new FunctionCounter(e.getValue());
+					this.functions.put(e.getKey(), f);
+				}
+				f.add(e.getValue());
+			}
+		}
+	}
+
+	private static class Row {
+		final String name;
+		final long count;
+
+		Row(String name, long count) {
+			this.name = name;
+			this.count = count;
+		}
+	}
+
+	/**
+	 * Returns the report of the counted instructions, every table in the
+	 * report contains at most {@code maxRows} rows.
+	 */
+	public static String report(int maxRows) {
+		mergeDeadCounters();
+		Totals totals = new Totals();
+		synchronized (TOTALS_LOCK) {
+			totals.add(terminatedTotals);
+		}
+		for (Counters counters : LIVE_COUNTERS) {
+			totals.add(counters);
+		}
+		long[] opcodes = totals.opcodes;
+		long[] pairs = totals.pairs;
+		List<Row> functionRows = new ArrayList<>();
+		List<Row> callSiteRows = new ArrayList<>();
+		long totalCalls = 0;
+		for (FunctionCounter f : totals.functions.values()) {
+			functionRows.add(new Row(f.name, f.instructions));
+			for (Map.Entry<Integer, long[]> e : f.callSites.entrySet()) {
+				long[] calls = e.getValue();
+				callSiteRows.add(new Row(f.name + " line " +
+					f.chunk.getLineNumber(e.getKey()) + " " +
+					OpCodes.INSTRUCTION_NAMES[(int) calls[1]], calls[0]));
+				totalCalls += calls[0];
+			}
+		}
+		long total = 0;
+		List<Row> opcodeRows = new ArrayList<>();
+		for (int i = 0; i < N; i ++) {
+			total += opcodes[i];
+			if (opcodes[i] != 0) {
+				opcodeRows.add(new Row(OpCodes.INSTRUCTION_NAMES[i], opcodes[i]));
+			}
+		}
+		long totalPairs = 0;
+		List<Row> pairRows = new ArrayList<>();
+		for (int i = 0; i < N*N; i ++) {
+			totalPairs += pairs[i];
+			if (pairs[i] != 0) {
+				pairRows.add(new Row(
+					OpCodes.INSTRUCTION_NAMES[i / N] + ", " +
+					OpCodes.INSTRUCTION_NAMES[i % N], pairs[i]));
+			}
+		}
+
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format("Total instructions: %d\n\n", total));
+		appendTable(builder, "instruction", opcodeRows, total, maxRows);
+		appendTable(builder, "instruction pair", pairRows, totalPairs, maxRows);
+		appendTable(builder, "function", functionRows, total, maxRows);
+		appendTable(builder, "call site", callSiteRows, totalCalls, maxRows);
+		return builder.toString();
+	}
+
+	private static void appendTable(StringBuilder builder, String title,
+	                                List<Row> rows, long total, int maxRows) {
+		rows.sort((a, b) -> Long.compare(b.count, a.count));
+		TableView tableView = new TableView();
+		tableView.setHeaders(title, "count", "%");
+		for (int i = 0; i < rows.size() && i < maxRows; i ++) {
+			Row row = rows.get(i);
+			tableView.addItem(row.name, String.valueOf(row.count),
+				String.format("%.2f%%", total == 0 ? 0 : row.count*100.0/total));
+		}
+		builder.append(tableView.toString()).append("\n\n");
+	}
+}
@@ -3,6 +3,7 @@ package com.nano.candy.interpreter.runtime;
 import com.nano.candy.ast.ASTreeNode;
 import com.nano.candy.ast.Program;
 import com.nano.candy.code.Chunk;
+import com.nano.candy.code.ChunkSerializer;
 import com.nano.candy.codegen.CodeGenerator;
 import com.nano.candy.interpreter.InterpreterOptions;
 import com.nano.candy.interpreter.builtin.type.error.CompilerError;
@@ -12,9 +13,14 @@ import com.nano.candy.parser.Parser;
 import com.nano.candy.parser.ParserFactory;
 import com.nano.candy.utils.Context;
 import com.nano.candy.utils.Logger;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 
 /**
  * This is a runtime compiler.
@@ -72,6 +78,49 @@ public class RuntimeCompiler {
 		return new CompiledFileInfo(file.getAbsolutePath(), chunk);
 	}
 
+	/**
+	 * Compiles the specified source file, or reuses the chunk compiled 
+	 * before from the bytecode cache if the source file is unchanged.
+	 *
+	 * @see BytecodeCache
+	 */
+	public static CompiledFileInfo compileWithCache(File file, InterpreterOptions options,
+	                                                boolean clearMsg) {
+		BytecodeCache cache = BytecodeCache.getDefault();
+		if (cache == null) {
+			return compile(file, options, clearMsg);
+		}
+		byte[] content = null;
+		try {
+			content = Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			new IOError(file).throwSelfNative();
+		}
+		byte[] key = BytecodeCache.contentKey(content, options);
+		Chunk chunk = cache.load(file, key);
+		if (chunk == null) {
+			Parser parser = ParserFactory.newParser(
+				file.getPath(), new String(content, Charset.defaultCharset()));
+			Program program = parser.parse();
+			checkLogger(clearMsg);
+			chunk = compileTree(program, options, clearMsg);
+			cache.store(file, key, chunk);
+		}
+		return new CompiledFileInfo(file.getAbsolutePath(), chunk);
+	}
+
+	/**
+	 * Loads a bytecode file generated by the {@code compile} tool.
+	 *
+	 * @see ChunkSerializer
+	 */
+	public static CompiledFileInfo loadBytecode(File file) throws IOException {
+		try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			return new CompiledFileInfo(
+				file.getAbsolutePath(), ChunkSerializer.read(in));
+		}
+	}
+
 	public static Chunk compileText(String text, InterpreterOptions options) {
 		Parser parser = ParserFactory.newParser("Temp", text);
 		Program program = parser.parse();
@@ -0,0 +1,145 @@
+package com.nano.candy.interpreter.runtime;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A sampler that periodically captures the stacks of all the running
+ * Candy threads.
+ *
+ * <p>The stacks are read from a separate Java thread without stopping
+ * the Candy threads, so a sample may be slightly inconsistent with the
+ * real state of a thread. The evaluators are not instrumented at all,
+ * the cost of profiling is only paid by the sampler thread.
+ *
+ * <p>While a sampler is running, every Candy thread registers its
+ * environment when it starts to run and unregisters it when it terminates.
+ * The environments of the wrapped Java threads (the main thread and the
+ * workers of executors) are removed once their Java threads die. The
+ * threads started before the sampler are not sampled. No environment is
+ * kept when no sampler is running.
+ */
+public final class StackSampler {
+
+	public interface SampleHandler {
+		/**
+		 * Handles a non-empty stack sampled from the specified thread.
+		 *
+		 * <p>This method is always called from the sampler thread.
+		 */
+		public void handle(CandyThread thread, StackSnapshot stack);
+	}
+
+	private static final ConcurrentHashMap<EvaluatorEnv, Thread> RUNNING_ENVS =
+		new ConcurrentHashMap<>();
+
+	/**
+	 * The number of the running samplers.
+	 */
+	private static final AtomicInteger ACTIVE_SAMPLERS = new AtomicInteger();
+
+	static void register(EvaluatorEnv env, Thread javaThread) {
+		if (ACTIVE_SAMPLERS.get() == 0) {
+			return;
+		}
+		RUNNING_ENVS.put(env, javaThread);
+		// The last sampler may be stopped while the env is being put.
+		if (ACTIVE_SAMPLERS.get() == 0) {
+			RUNNING_ENVS.remove(env);
+		}
+	}
+
+	static void unregister(EvaluatorEnv env) {
+		RUNNING_ENVS.remove(env);
+	}
+
+	private final long intervalMillis;
+	private final SampleHandler handler;
+	private Thread samplerThread;
+	private volatile boolean stopped;
+	private int samples;
+
+	public StackSampler(long intervalMillis, SampleHandler handler) {
+		if (intervalMillis <= 0) {
+			throw new IllegalArgumentException(
+				"Illegal sampling interval: " + intervalMillis);
+		}
+		this.intervalMillis = intervalMillis;
+		this.handler = handler;
+	}
+
+	public long getIntervalMillis() {
+		return intervalMillis;
+	}
+
+	/**
+	 * Returns the number of the sampling rounds that have been done.
+	 */
+	public int getSampleCount() {
+		return samples;
+	}
+
+	public synchronized void start() {
+		if (samplerThread != null) {
+			throw new IllegalStateException("The sampler has been started.");
+		}
+		ACTIVE_SAMPLERS.incrementAndGet();
+		samplerThread = new Thread(this::run, "CandySampler");
+		samplerThread.setDaemon(true);
+		samplerThread.start();
+	}
+
+	/**
+	 * Stops the sampler and waits for the last sample to be handled.
+	 */
+	public synchronized void stop() throws InterruptedException {
+		if (samplerThread == null || stopped) {
+			return;
+		}
+		stopped = true;
+		samplerThread.interrupt();
+		try {
+			samplerThread.join();
+		} finally {
+			if (ACTIVE_SAMPLERS.decrementAndGet() == 0) {
+				RUNNING_ENVS.clear();
+			}
+		}
+	}
+
+	private void run() {
+		while (!stopped) {
+			try {
+				Thread.sleep(intervalMillis);
+			} catch (InterruptedException e) {
+				return;
+			}
+			sampleAll();
+			samples ++;
+		}
+	}
+
+	private void sampleAll() {
+		Iterator<Map.Entry<EvaluatorEnv, Thread>> i =
+			RUNNING_ENVS.entrySet().iterator();
+		while (i.hasNext()) {
+			Map.Entry<EvaluatorEnv, Thread> entry = i.next();
+			if (!entry.getValue().isAlive()) {
+				i.remove();
+				continue;
+			}
+			EvaluatorEnv env = entry.getKey();
+			try {
+				StackSnapshot stack = env.captureStack();
+				if (stack.size() != 0) {
+					handler.handle(env.getCurrentThread(), stack);
+				}
+			} catch (RuntimeException e) {
+				// The stack is changed while it's being read, skip this
+				// thread in this round.
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.nano.candy.interpreter.runtime;
+
+import com.nano.candy.interpreter.builtin.type.PrototypeFunction;
+import com.nano.candy.interpreter.builtin.type.error.StackTraceElementObj;
+
+/**
+ * The functions and the program counters of the frames in a stack, from
+ * the top frame to the bottom frame.
+ *
+ * <p>A snapshot is captured when an error is created or raised, which
+ * is cheap. It's converted to the stack trace elements only if they are
+ * requested, so the errors that are intercepted and never printed don't
+ * look up the names and the line numbers.
+ */
+public final class StackSnapshot {
+	
+	private final PrototypeFunction[] functions;
+	private final int[] pcs;
+	
+	protected StackSnapshot(FrameStack stack) {
+		final int size = stack.frameCount();
+		this.functions = new PrototypeFunction[size];
+		this.pcs = new int[size];
+		for (int i = 0; i < size; i ++) {
+			Frame frame = stack.getAt(size-i-1);
+			functions[i] = frame.closure;
+			pcs[i] = frame.pc;
+		}
+	}
+	
+	public int size() {
+		return functions.length;
+	}
+	
+	/**
+	 * Returns the name of the function of the frame at the specified
+	 * index, the top frame is at the index 0.
+	 */
+	public String getFunctionName(int index) {
+		return functions[index].funcName();
+	}
+	
+	public String getSourceFileName(int index) {
+		return functions[index].chunk.getSourceFileName();
+	}
+	
+	public int getLineNumber(int index) {
+		// The pc points to the next instruction to be executed.
+		return functions[index].chunk.getLineNumber(pcs[index]-1);
+	}
+	
+	/**
+	 * Returns the stack trace elements of this snapshot, skipping the
+	 * specified number of the top frames.
+	 */
+	public StackTraceElementObj[] toStackTraceElements(int offset) {
+		offset = Math.min(offset, functions.length);
+		StackTraceElementObj[] elements = 
+			new StackTraceElementObj[functions.length-offset];
+		for (int i = 0; i < elements.length; i ++) {
+			elements[i] = new StackTraceElementObj(
+				getFunctionName(i + offset), 
+				getSourceFileName(i + offset),
+				getLineNumber(i + offset)
+			);
+		}
+		return elements;
+	}
+}
@@ -0,0 +1,164 @@
+package com.nano.candy.interpreter.runtime;
+
+import com.nano.candy.sys.CandySystem;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the Candy threads started by scripts.
+ *
+ * <p>The mode is specified by {@code $CANDY_THREADS}:
+ * <ul>
+ * <li>{@code platform} (default): every Candy thread runs on its own 
+ *     platform thread.</li>
+ * <li>{@code virtual}: every Candy thread runs on its own virtual thread
+ *     if the Java runtime supports virtual threads (Java 21+), otherwise
+ *     on its own platform thread.</li>
+ * <li>{@code n} (a positive integer): Candy threads are queued and run on
+ *     a pool of {@code n} threads. A Candy thread that waits for a queued
+ *     Candy thread may block the pool forever if all the threads in the
+ *     pool are waiting.</li>
+ * </ul>
+ *
+ * <p>The virtual threads and the pool let scripts start a huge number of
+ * Candy threads without a platform thread for each of them. The 
+ * {@code isDaemon} attribute only takes effect in the platform mode.
+ */
+abstract class ThreadLauncher {
+	
+	private static volatile ThreadLauncher defaultLauncher;
+	
+	public static ThreadLauncher getDefault() {
+		ThreadLauncher launcher = defaultLauncher;
+		if (launcher == null) {
+			synchronized (ThreadLauncher.class) {
+				launcher = defaultLauncher;
+				if (launcher == null) {
+					launcher = newLauncher(CandySystem.getThreadsMode());
+					defaultLauncher = launcher;
+				}
+			}
+		}
+		return launcher;
+	}
+	
+	private static ThreadLauncher newLauncher(String mode) {
+		if (mode == null || mode.isEmpty() || "platform".equals(mode)) {
+			return new PlatformLauncher();
+		}
+		if ("virtual".equals(mode)) {
+			ThreadLauncher launcher = VirtualLauncher.newLauncher();
+			return launcher != null ? launcher : new PlatformLauncher();
+		}
+		try {
+			int poolSize = Integer.parseInt(mode);
+			if (poolSize > 0) {
+				return new PooledLauncher(poolSize);
+			}
+		} catch (NumberFormatException e) {}
+		// An invalid mode is ignored.
+		return new PlatformLauncher();
+	}
+	
+	/**
+	 * Returns an unstarted Java thread that runs the specified task, or 
+	 * null if the task is run by {@link #execute}.
+	 */
+	public abstract Thread newThread(Runnable task);
+	
+	public abstract void execute(Runnable task);
+	
+	private static class PlatformLauncher extends ThreadLauncher {
+		@Override
+		public Thread newThread(Runnable task) {
+			return new Thread(task);
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			newThread(task).start();
+		}
+	}
+	
+	/**
+	 * Creates virtual threads through reflection, since the source is
+	 * compatible with Java 8.
+	 */
+	private static class VirtualLauncher extends ThreadLauncher {
+		
+		public static VirtualLauncher newLauncher() {
+			try {
+				Method ofVirtual = Thread.class.getMethod("ofVirtual");
+				Method unstarted = Class.forName("java.lang.Thread$Builder")
+					.getMethod("unstarted", Runnable.class);
+				return new VirtualLauncher(ofVirtual, unstarted);
+			} catch (ReflectiveOperationException e) {
+				return null;
+			}
+		}
+		
+		private final Method ofVirtual;
+		private final Method unstarted;
+
+		private VirtualLauncher(Method ofVirtual, Method unstarted) {
+			this.ofVirtual = ofVirtual;
+			this.unstarted = unstarted;
+		}
+		
+		@Override
+		public Thread newThread(Runnable task) {
+			try {
+				return (Thread) unstarted.invoke(ofVirtual.invoke(null), task);
+			} catch (IllegalAccessException e) {
+				throw new Error(e);
+			} catch (InvocationTargetException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new Error(cause);
+			}
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			newThread(task).start();
+		}
+	}
+	
+	private static class PooledLauncher extends ThreadLauncher {
+		
+		private final ExecutorService executor;
+		
+		public PooledLauncher(int poolSize) {
+			AtomicInteger counter = new AtomicInteger();
+			this.executor = new ThreadPoolExecutor(
+				poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<Runnable>(),
+				r -> {
+					Thread t = new Thread(r, 
+						"CandyWorker - " + counter.incrementAndGet());
+					// The interpreter waits for the Candy threads, not
+					// the workers.
+					t.setDaemon(true);
+					return t;
+				}
+			);
+		}
+
+		@Override
+		public Thread newThread(Runnable task) {
+			return null;
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			executor.execute(task);
+		}
+	}
+}
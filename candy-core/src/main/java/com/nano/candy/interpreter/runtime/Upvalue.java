@@ -6,23 +6,28 @@ public class Upvalue {
 	
 	public static final Upvalue[] EMPTY_UPVALUES = new Upvalue[0];
 	
-	private CandyObject[] slots;
+	/**
+	 * The operand stack of the frame where the variable is. The operand
+	 * array must be fetched from the stack on each access, because the
+	 * array is reallocated when the stack grows.
+	 */
+	private OperandStack stack;
 	private int index;
 	private CandyObject ref;
 
-	public Upvalue(CandyObject[] slots, int index) {
-		this.slots = slots;
+	public Upvalue(OperandStack stack, int index) {
+		this.stack = stack;
 		this.index = index;
-		this.ref = slots[index];
+		this.ref = stack.operands[index];
 	}
 	
 	public boolean isClosed() {
-		return slots == null;
+		return stack == null;
 	}
 	
 	public void close() {
-		this.ref = slots[index];
-		slots = null;
+		this.ref = stack.operands[index];
+		stack = null;
 	}
 	
 	public int index() {
@@ -31,14 +36,14 @@ public class Upvalue {
 	
 	public void store(CandyObject ref) {
 		this.ref = ref;
-		if (slots != null) {
-			slots[index] = ref;
+		if (stack != null) {
+			stack.operands[index] = ref;
 		}
 	}
 	
 	public CandyObject load() {
-		if (slots != null) {
-			return slots[index];
+		if (stack != null) {
+			return stack.operands[index];
 		}
 		return ref;
 	}
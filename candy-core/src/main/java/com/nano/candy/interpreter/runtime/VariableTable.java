@@ -1,5 +1,6 @@
 package com.nano.candy.interpreter.runtime;
 
+import com.nano.candy.interpreter.builtin.BuiltinVariables;
 import com.nano.candy.interpreter.builtin.CandyClass;
 import com.nano.candy.interpreter.builtin.CandyObject;
 import com.nano.candy.interpreter.builtin.type.CallableObj;
@@ -19,11 +20,18 @@ public class VariableTable {
 	
 	private Variable[] vars;
 	private int varibleSize;
+	
+	/**
+	 * The built-in variables bound to the undefined variables by names,
+	 * see {@link #resolveVariable(int)}.
+	 */
+	private Variable[] builtinVars;
 
 	public VariableTable(int initialCapacity) {
 		this.variableNames = new ArrayList<>(initialCapacity);
 		this.variableTable = new HashMap<>(initialCapacity);
 		this.vars = new Variable[initialCapacity];
+		this.builtinVars = new Variable[initialCapacity];
 		this.varibleSize = 0;
 	}
 	
@@ -31,6 +39,7 @@ public class VariableTable {
 		this.variableNames = variableNames;
 		this.variableTable = variableTable;
 		this.vars = new Variable[variableNames.size()];
+		this.builtinVars = new Variable[vars.length];
 		this.varibleSize = vars.length;
 	}
 	
@@ -68,6 +77,28 @@ public class VariableTable {
 		return vars[index];
 	}
 
+	/**
+	 * Returns the variable at the specified index, or the built-in
+	 * variable with the same name if the variable is undefined.
+	 *
+	 * <p>The built-in variable is looked up only once and then bound to
+	 * the index. A variable defined later at the index hides the bound
+	 * built-in variable, and the built-in variables are never changed,
+	 * so the binding is never stale.
+	 */
+	public Variable resolveVariable(int index) {
+		Variable v = vars[index];
+		if (v != null) {
+			return v;
+		}
+		v = builtinVars[index];
+		if (v == null) {
+			v = BuiltinVariables.getVariable(variableNames.get(index));
+			builtinVars[index] = v;
+		}
+		return v;
+	}
+
 	public Variable getVariable(String name) {
 		Integer index = variableTable.get(name);
 		return index != null ? vars[index] : null;
@@ -94,6 +125,7 @@ public class VariableTable {
 			if (varibleSize >= vars.length) {
 				int newLength = vars.length < 2 ? 8 : (int)(vars.length*1.5);
 				vars = Arrays.copyOf(vars, newLength);
+				builtinVars = Arrays.copyOf(builtinVars, newLength);
 			}
 			index = varibleSize ++;
 			variableNames.add(name);
@@ -6,6 +6,11 @@ import com.nano.candy.sys.CandySystem;
 import com.nano.candy.utils.CandyFileFilter;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * The default loader could load modules from the '$CANDY_HOME/libs',
@@ -16,15 +21,32 @@ import java.io.IOException;
  *    1. The current source file's directory.
  *    2. $CANDY_HOME/libs
  *    3. The current working directory.
+ *
+ * A bytecode file (.cdc) generated by the {@code compile} tool is loaded
+ * as a module if there is no source file with the same name.
  */
 public class CandyPathModuleLoader extends ModuleLoader {
 	
 	@Override
 	protected Module findModule(CNIEnv env, String relativePath) 
 		throws ModuleNotFoundException {
+		Module module = findModule(env.getCurrentDirectory(), relativePath);
+		if (module == null) {
+			throw new ModuleNotFoundException
+				("The module '" + relativePath + "' could not be found.");
+		}
+		return module;
+	}
+
+	@Override
+	protected Module findStaticModule(String directory, String relativePath) {
+		return findModule(directory, relativePath);
+	}
+
+	private Module findModule(String currentDirectory, String relativePath) {
 		Module module = null;
 		String[] paths = {
-			env.getCurrentDirectory(),
+			currentDirectory,
 			CandySystem.getCandyLibsPath(),
 			System.getProperty("user.dir")
 		};
@@ -34,8 +56,7 @@ public class CandyPathModuleLoader extends ModuleLoader {
 				return module;
 			}
 		}
-		throw new ModuleNotFoundException
-			("The module '" + relativePath + "' could not be found.");
+		return null;
 	}
 
 	private Module findFrom(String envDirectory, String relativePath) {
@@ -54,9 +75,19 @@ public class CandyPathModuleLoader extends ModuleLoader {
 	 */
 	private Module attemptToFindSrcFile(String envDirectory, 
 	                                    String relativePath) {
+		if (CandySystem.isCandyBytecode(relativePath)) {
+			File bytecodeFile = new File(envDirectory, relativePath);
+			return bytecodeFile.isFile() ? generteFileModule(bytecodeFile) : null;
+		}
 		String srcFilePath = getSourceFileName(relativePath);
 		File srcFile = new File(envDirectory, srcFilePath);
-		return srcFile.isFile() ? generteFileModule(srcFile) : null;
+		if (srcFile.isFile()) {
+			return generteFileModule(srcFile);
+		}
+		File bytecodeFile = new File(
+			envDirectory, CandySystem.toBytecodeFileName(srcFilePath));
+		return bytecodeFile.isFile() ? 
+			generteFileModule(srcFile.getName(), bytecodeFile) : null;
 	}
 	
 	private String getSourceFileName(String path) {
@@ -83,12 +114,16 @@ public class CandyPathModuleLoader extends ModuleLoader {
 		if (moduleSrcFile.isFile()) {
 			return generteFileModule(directory.getName(), moduleSrcFile);
 		}
+		File moduleBytecodeFile = new File(directory, 
+			CandySystem.toBytecodeFileName(Names.MOUDLE_FILE_NAME));
+		if (moduleBytecodeFile.isFile()) {
+			return generteFileModule(directory.getName(), moduleBytecodeFile);
+		}
 		return generteDirectoryModule(directory);
 	}
 
 	private Module generteDirectoryModule(File directory) {
-		File[] subSourceFiles = 
-			directory.listFiles(CandyFileFilter.CANDY_FILE_FILTER);
+		File[] subSourceFiles = listModuleFiles(directory);
 		if (subSourceFiles.length == 0) {
 			return null;
 		}
@@ -104,6 +139,30 @@ public class CandyPathModuleLoader extends ModuleLoader {
 		}
 	}
 	
+	/**
+	 * Lists the source files in the directory and the bytecode files
+	 * whose source files are absent.
+	 */
+	private File[] listModuleFiles(File directory) {
+		File[] srcFiles = directory.listFiles(CandyFileFilter.CANDY_FILE_FILTER);
+		File[] bytecodeFiles = 
+			directory.listFiles(CandyFileFilter.CANDY_BYTECODE_FILE_FILTER);
+		if (bytecodeFiles == null || bytecodeFiles.length == 0) {
+			return srcFiles;
+		}
+		Set<String> compiledNames = new HashSet<>();
+		for (File srcFile : srcFiles) {
+			compiledNames.add(CandySystem.toBytecodeFileName(srcFile.getName()));
+		}
+		List<File> files = new ArrayList<>(Arrays.asList(srcFiles));
+		for (File bytecodeFile : bytecodeFiles) {
+			if (!compiledNames.contains(bytecodeFile.getName())) {
+				files.add(bytecodeFile);
+			}
+		}
+		return files.toArray(new File[files.size()]);
+	}
+	
 	private Module generteFileModule(File file) {
 		return generteFileModule(file.getName(), file);
 	}
@@ -1,15 +1,19 @@
 package com.nano.candy.interpreter.runtime.module;
 import com.nano.candy.interpreter.builtin.type.ModuleObj;
+import com.nano.candy.interpreter.builtin.type.error.IOError;
+import com.nano.candy.interpreter.builtin.type.error.InterruptedError;
 import com.nano.candy.interpreter.cni.CNIEnv;
 import com.nano.candy.interpreter.runtime.CompiledFileInfo;
 import com.nano.candy.interpreter.runtime.RuntimeCompiler;
 import com.nano.candy.interpreter.runtime.VariableTable;
+import com.nano.candy.sys.CandySystem;
 import java.io.File;
-import java.util.Collections;
+import java.io.IOException;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This class is used to load modules.
@@ -20,29 +24,75 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>ModuleLoader provides a method used for loading modules through a path,
  * and the ModuleObject cache that avoids loading the same module twice.
  *
+ * <p>Modules can be loaded by multiple threads at the same time. A source
+ * file is run only once: the threads importing a file that is being run
+ * by another thread wait for that file only, and the loaded modules are
+ * got from the cache without locking.
+ *
  * @see CandyPathModuleLoader
  */
 public abstract class ModuleLoader {
 	
-	private Map<String, ModuleObj> moduleObjectCache;
+	/**
+	 * A source file being run by a thread.
+	 */
+	private static class Loading {
+		final Thread owner;
+		final CompletableFuture<ModuleObj> future;
+		
+		Loading(Thread owner) {
+			this.owner = owner;
+			this.future = new CompletableFuture<>();
+		}
+	}
+	
+	private final ConcurrentHashMap<String, ModuleObj> moduleObjectCache;
 	
-	private Set<String> runningModules;
+	private final ConcurrentHashMap<String, Loading> loadings;
+	
+	/**
+	 * The loading that a thread is waiting for, used to find the cyclic
+	 * importations between threads.
+	 */
+	private final ConcurrentHashMap<Thread, Loading> waitingLoadings;
+	
+	/**
+	 * The source files being run by the current thread.
+	 */
+	private final ThreadLocal<Set<String>> runningModules;
+	
+	private final ModulePrecompiler precompiler;
 
 	public ModuleLoader() {
 		this.moduleObjectCache = new ConcurrentHashMap<>();
-		this.runningModules = Collections.synchronizedSet(new HashSet<String>());
+		this.loadings = new ConcurrentHashMap<>();
+		this.waitingLoadings = new ConcurrentHashMap<>();
+		this.runningModules = ThreadLocal.withInitial(HashSet::new);
+		this.precompiler = new ModulePrecompiler(this);
 	}
 	
 	protected final boolean isRunning(String moduleIdentifier) {
-		return runningModules.contains(moduleIdentifier);
+		return runningModules.get().contains(moduleIdentifier);
 	}
 
 	protected final void markRunning(String moduleIdentifier) {
-		runningModules.add(moduleIdentifier);
+		runningModules.get().add(moduleIdentifier);
 	}
 
 	protected final void unmarkRunning(String moduleIdentifier) {
-		runningModules.remove(moduleIdentifier);
+		runningModules.get().remove(moduleIdentifier);
+	}
+	
+	/**
+	 * Discards the source files compiled ahead of time that have not
+	 * been imported.
+	 */
+	public void discardPrecompiledFiles() {
+		precompiler.clear();
+	}
+	
+	final boolean isLoaded(String fileIdentifier) {
+		return moduleObjectCache.containsKey(fileIdentifier);
 	}
 
 	/**
@@ -56,6 +106,21 @@ public abstract class ModuleLoader {
 	protected abstract Module findModule(CNIEnv env, String relativePath) 
 		throws ModuleNotFoundException;
 	
+	/**
+	 * Finds a module imported by a source file in the specified directory
+	 * without running the source file. It's used to find the static
+	 * imports of the source files, whose compilation can be started 
+	 * before they are imported. 
+	 *
+	 * @return A module, or null if the module could not be found or this
+	 *         loader doesn't support finding modules statically.
+	 *
+	 * @see ModulePrecompiler
+	 */
+	protected Module findStaticModule(String directory, String relativePath) {
+		return null;
+	}
+	
 	/**
 	 * Finds a module and loads it.
 	 *
@@ -70,7 +135,7 @@ public abstract class ModuleLoader {
 		return loadModule(env, module);
 	}
 
-	protected final synchronized ModuleObj loadModule(CNIEnv env, Module module) throws ModuleLoadingException {
+	protected final ModuleObj loadModule(CNIEnv env, Module module) throws ModuleLoadingException {
 		// Use the module identifier as the key of the cache.
 		ModuleObj moduleObj = 
 			moduleObjectCache.get(module.getModuleIdentifier());
@@ -78,6 +143,7 @@ public abstract class ModuleLoader {
 			return moduleObj;
 		}
 		checkModule(env, module);
+		precompiler.precompile(module, env.getOptions());
 		return runModule(env, module);
 	}
 	
@@ -94,53 +160,120 @@ public abstract class ModuleLoader {
 			}
 		}
 		if (cyclic || isRunning(module.getModuleIdentifier())) {
-			throw new ModuleLoadingException
-				("cyclic importation. in " + 
-				 env.getCurRunningFile().getSimpleName() +
-				 " imports the running module " + module.getName());
+			throw cyclicImportation(env, module.getName());
 		}
 	}
 	
-	private ModuleObj runModule(CNIEnv env, Module module) {
+	private static ModuleLoadingException cyclicImportation(CNIEnv env, String name) {
+		return new ModuleLoadingException
+			("cyclic importation. in " + 
+			 env.getCurRunningFile().getSimpleName() +
+			 " imports the running module " + name);
+	}
+	
+	private ModuleObj runModule(CNIEnv env, Module module) throws ModuleLoadingException {
 		if (module.isModuleSet()) {
 			// It means this module consists of multiple source files.
 			ModuleObj[] subModuleObjects = runModuleSet(env, module);
 			ModuleObj moduleObj = mergeModules(module.getName(), subModuleObjects);
-			moduleObjectCache.put(module.getName(), moduleObj);
-			return moduleObj;
+			ModuleObj old = moduleObjectCache.putIfAbsent(
+				module.getModuleIdentifier(), moduleObj);
+			return old != null ? old : moduleObj;
 		}
-		return runSingleFileModule(env, module);
+		return loadSourceFile(env, module.getName(), 
+			module.getModuleIdentifier(), new File(module.getModulePath()));
 	}
 	
-	private ModuleObj runSingleFileModule(CNIEnv env, Module module) {
-		String moduleIdentifier = module.getModuleIdentifier();
-		ModuleObj moduleObj = runSourceFile(
-			env, moduleIdentifier, new File(module.getModulePath()));
-		moduleObjectCache.put(moduleIdentifier, moduleObj);
-		return moduleObj;
-	}
-	
-	private ModuleObj[] runModuleSet(CNIEnv env, Module module) {
+	private ModuleObj[] runModuleSet(CNIEnv env, Module module) throws ModuleLoadingException {
 		final int fileCount = module.getSubFilesCount();
 		ModuleObj[] subModuleObjs = new ModuleObj[fileCount];
 		
 		for (int i = 0; i < fileCount; i ++) {
-			String subModuleIdentifier = module.getSubFileIdentifier(i);
-			ModuleObj subModuleObj = moduleObjectCache.get(subModuleIdentifier);
-			if (subModuleObj == null) {
-				subModuleObj = runSourceFile(
-					env, subModuleIdentifier, module.getSubFile(i));		
-				moduleObjectCache.put(subModuleIdentifier, subModuleObj);
-			}
-			subModuleObjs[i] = subModuleObj;
+			subModuleObjs[i] = loadSourceFile(
+				env, module.getName(), 
+				module.getSubFileIdentifier(i), module.getSubFile(i)
+			);
 		}
 		return subModuleObjs;
 	}
 	
+	/**
+	 * Runs the source file if it's not loaded, or waits for the thread
+	 * that is running it.
+	 */
+	private ModuleObj loadSourceFile(CNIEnv env, String moduleName,
+	                                 String id, File srcFile) throws ModuleLoadingException {
+		while (true) {
+			ModuleObj moduleObj = moduleObjectCache.get(id);
+			if (moduleObj != null) {
+				return moduleObj;
+			}
+			Loading loading = new Loading(Thread.currentThread());
+			Loading running = loadings.putIfAbsent(id, loading);
+			if (running == null) {
+				return runSourceFile(env, id, srcFile, loading);
+			}
+			moduleObj = waitFor(env, moduleName, running);
+			if (moduleObj != null) {
+				return moduleObj;
+			}
+			// Fail to load the file in the other thread, the error raised
+			// by the file can only be handled by that thread, so we try 
+			// to run the file again and get our own error.
+		}
+	}
+	
+	private ModuleObj runSourceFile(CNIEnv env, String id, File srcFile, 
+	                                Loading loading) {
+		ModuleObj moduleObj = null;
+		try {
+			// The file may be loaded after the cache is checked.
+			moduleObj = moduleObjectCache.get(id);
+			if (moduleObj == null) {
+				moduleObj = runSourceFile(env, id, srcFile);
+				moduleObjectCache.put(id, moduleObj);
+			}
+			return moduleObj;
+		} finally {
+			loadings.remove(id, loading);
+			loading.future.complete(moduleObj);
+		}
+	}
+	
+	/**
+	 * Waits for the specified loading and returns the loaded module, or
+	 * null if the loading thread fails to load it.
+	 */
+	private ModuleObj waitFor(CNIEnv env, String moduleName, 
+	                          Loading loading) throws ModuleLoadingException {
+		Thread current = Thread.currentThread();
+		waitingLoadings.put(current, loading);
+		try {
+			// The current thread would never be woken up if the loading
+			// thread is waiting for the current thread directly or
+			// indirectly.
+			for (Loading l = loading; l != null; l = waitingLoadings.get(l.owner)) {
+				if (l.owner == current) {
+					throw cyclicImportation(env, moduleName);
+				}
+			}
+			return loading.future.get();
+		} catch (InterruptedException e) {
+			new InterruptedError(e).throwSelfNative();
+			throw new Error("Unreachable.");
+		} catch (ExecutionException e) {
+			// The future is never completed exceptionally.
+			throw new Error(e);
+		} finally {
+			waitingLoadings.remove(current);
+		}
+	}
+	
 	private ModuleObj runSourceFile(CNIEnv env, String id, File srcFile) {
-		CompiledFileInfo compiledFile = RuntimeCompiler.compile(
-			srcFile, env.getOptions(), true
-		);
+		CompiledFileInfo compiledFile = precompiler.take(id);
+		if (compiledFile == null) {
+			compiledFile = compileSourceFile(env, srcFile);
+		}
 		try {
 			markRunning(id);
 			return env.getEvaluator().eval(compiledFile);
@@ -149,6 +282,20 @@ public abstract class ModuleLoader {
 		}
 	}
 	
+	private CompiledFileInfo compileSourceFile(CNIEnv env, File srcFile) {
+		if (CandySystem.isCandyBytecode(srcFile.getName())) {
+			try {
+				return RuntimeCompiler.loadBytecode(srcFile);
+			} catch (IOException e) {
+				new IOError(e).throwSelfNative();
+				return null;
+			}
+		}
+		return RuntimeCompiler.compileWithCache(
+			srcFile, env.getOptions(), true
+		);
+	}
+	
 	private ModuleObj mergeModules(String moduleName, 
 	                               ModuleObj[] moduleObjects) 
 	{
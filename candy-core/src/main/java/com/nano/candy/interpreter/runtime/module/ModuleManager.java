@@ -22,6 +22,14 @@ public class ModuleManager {
 		this.loader = loader;
 	}
 	
+	/**
+	 * Called when the main run ends, the source files compiled ahead of
+	 * time but never imported are discarded.
+	 */
+	public void discardPrecompiledFiles() {
+		loader.discardPrecompiledFiles();
+	}
+	
 	public ModuleObj importModule(CNIEnv env, String relativePath) {
 		try {
 			return loader.loadModule(env, relativePath);
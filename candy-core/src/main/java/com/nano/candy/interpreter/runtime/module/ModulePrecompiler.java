@@ -0,0 +1,207 @@
+package com.nano.candy.interpreter.runtime.module;
+
+import com.nano.candy.ast.Program;
+import com.nano.candy.code.Chunk;
+import com.nano.candy.interpreter.InterpreterOptions;
+import com.nano.candy.interpreter.runtime.BytecodeCache;
+import com.nano.candy.interpreter.runtime.CompiledFileInfo;
+import com.nano.candy.interpreter.runtime.RuntimeCompiler;
+import com.nano.candy.parser.ParserFactory;
+import com.nano.candy.sys.CandySystem;
+import com.nano.candy.utils.Context;
+import com.nano.candy.utils.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compiles the source files of modules ahead of time.
+ *
+ * <p>Before a module is run, the precompiler walks the static import graph
+ * of the module, that is, the import statements whose module paths are
+ * string literals, and compiles all the source files in the graph that
+ * have not been compiled on the common fork-join pool. The compiled files
+ * are taken by the {@link ModuleLoader} when they are imported, so they
+ * are still run in the order the import statements are executed.
+ *
+ * <p>The static imports are recorded in the chunks (see
+ * {@link Chunk#getStaticImports()}), so the graph is walked through the
+ * chunks loaded from the bytecode cache too.
+ *
+ * <p>A source file that fails to compile is skipped. It will be compiled
+ * again by the importing thread, and the compiler errors are raised as
+ * usual.
+ */
+class ModulePrecompiler {
+	
+	private final ModuleLoader loader;
+	
+	/**
+	 * The source files found by the precompiler. A source file is compiled
+	 * only once by the precompiler.
+	 */
+	private final Set<String> foundFiles;
+	
+	private final ConcurrentHashMap<String, CompiledFileInfo> compiledFiles;
+	
+	public ModulePrecompiler(ModuleLoader loader) {
+		this.loader = loader;
+		this.foundFiles = ConcurrentHashMap.newKeySet();
+		this.compiledFiles = new ConcurrentHashMap<>();
+	}
+	
+	/**
+	 * Compiles the source files of the specified module and the modules
+	 * imported by them statically. Returns after all of them are compiled.
+	 */
+	public void precompile(Module module, InterpreterOptions options) {
+		List<CompileTask> tasks = new ArrayList<>();
+		addTasks(module, options, tasks);
+		if (tasks.isEmpty()) {
+			return;
+		}
+		if (tasks.size() == 1) {
+			// Compiles it in the current thread, the imported files are
+			// compiled in the pool.
+			tasks.get(0).invoke();
+			return;
+		}
+		new RecursiveAction() {
+			@Override
+			protected void compute() {
+				invokeAll(tasks);
+			}
+		}.invoke();
+	}
+	
+	/**
+	 * Returns and removes the compiled file, or returns null if the file
+	 * is not compiled by the precompiler.
+	 */
+	public CompiledFileInfo take(String fileIdentifier) {
+		return compiledFiles.remove(fileIdentifier);
+	}
+	
+	/**
+	 * Discards the compiled files that have not been imported, such as
+	 * the files imported by the branches that are not taken. They will
+	 * be compiled again if they are imported later.
+	 */
+	public void clear() {
+		compiledFiles.clear();
+		foundFiles.clear();
+	}
+	
+	private void addTasks(Module module, InterpreterOptions options,
+	                      List<CompileTask> tasks) {
+		if (module.isModuleSet()) {
+			final int subfilesCount = module.getSubFilesCount();
+			for (int i = 0; i < subfilesCount; i ++) {
+				addTask(module.getSubFile(i), options, tasks);
+			}
+		} else {
+			addTask(new File(module.getModulePath()), options, tasks);
+		}
+	}
+	
+	private void addTask(File srcFile, InterpreterOptions options,
+	                     List<CompileTask> tasks) {
+		if (CandySystem.isCandyBytecode(srcFile.getName())) {
+			return;
+		}
+		String id;
+		try {
+			id = Module.getOnlyIdentifier(srcFile);
+		} catch (IOException e) {
+			return;
+		}
+		if (!loader.isLoaded(id) && foundFiles.add(id)) {
+			tasks.add(new CompileTask(srcFile, id, options));
+		}
+	}
+	
+	private class CompileTask extends RecursiveAction {
+		private static final long serialVersionUID = 1;
+		
+		private final File srcFile;
+		private final String id;
+		private final InterpreterOptions options;
+
+		public CompileTask(File srcFile, String id, InterpreterOptions options) {
+			this.srcFile = srcFile;
+			this.id = id;
+			this.options = options;
+		}
+		
+		@Override
+		protected void compute() {
+			CompiledFileInfo compiledFile;
+			try {
+				compiledFile = compile();
+			} catch (RuntimeException | StackOverflowError e) {
+				compiledFile = null;
+			}
+			if (compiledFile == null) {
+				return;
+			}
+			compiledFiles.put(id, compiledFile);
+			
+			List<CompileTask> tasks = new ArrayList<>();
+			String directory = srcFile.getAbsoluteFile().getParent();
+			for (String path : compiledFile.getChunk().getStaticImports()) {
+				Module module = loader.findStaticModule(directory, path);
+				if (module != null) {
+					addTasks(module, options, tasks);
+				}
+			}
+			invokeAll(tasks);
+		}
+		
+		/**
+		 * Loads the chunk of the source file from the bytecode cache, or
+		 * compiles the source file.
+		 */
+		private CompiledFileInfo compile() {
+			byte[] content;
+			try {
+				content = Files.readAllBytes(srcFile.toPath());
+			} catch (IOException e) {
+				return null;
+			}
+			BytecodeCache cache = BytecodeCache.getDefault();
+			byte[] key = null;
+			if (cache != null) {
+				key = BytecodeCache.contentKey(content, options);
+				Chunk chunk = cache.load(srcFile, key);
+				if (chunk != null) {
+					return new CompiledFileInfo(srcFile.getAbsolutePath(), chunk);
+				}
+			}
+			
+			Logger logger = Context.getThreadLocalContext().get(Logger.class);
+			Program program;
+			try {
+				program = ParserFactory.newParser(
+					srcFile.getPath(), 
+					new String(content, Charset.defaultCharset())
+				).parse();
+				if (logger.hadErrors()) {
+					return null;
+				}
+			} finally {
+				logger.clearErrors();
+			}
+			Chunk chunk = RuntimeCompiler.compileTree(program, options, true);
+			if (cache != null) {
+				cache.store(srcFile, key, chunk);
+			}
+			return new CompiledFileInfo(srcFile.getAbsolutePath(), chunk);
+		}
+	}
+}
@@ -88,6 +88,7 @@ public class Disassembler {
 			case OP_STORE_UPVALUE:
 			case OP_CALL:
 			case OP_BUILT_TUPLE:
+			case OP_CONCAT:
 			case OP_APPEND:
 			case OP_PUT:
 				return disassSimpleInsWithArg(pc, 1, true);
@@ -98,9 +99,20 @@ public class Disassembler {
 			case OP_JUMP_IF_TRUE:
 			case OP_JUMP:
 			case OP_LOOP:
+			case OP_LT_JUMP_IF_FALSE:
+			case OP_LTEQ_JUMP_IF_FALSE:
+			case OP_GT_JUMP_IF_FALSE:
+			case OP_GTEQ_JUMP_IF_FALSE:
 				return disassJumpIns(pc);
+			case OP_LOAD_ADD_CONST:
+			case OP_INC_LOCAL:
+				return disassSlotInsWithConst(pc);
 			case OP_MATCH_ERRORS:
 				return disassMacthErrorsIns(pc);
+			case OP_RANGE_PREPARE:
+				return disassRangePrepareIns(pc);
+			case OP_RANGE_NEXT:
+				return disassRangeNextIns(pc);
 			default:
 				return disassSimpleInstruction(pc);
 		}
@@ -170,6 +182,16 @@ public class Disassembler {
 		);
 	}
 	
+	private DisassInstruction disassSlotInsWithConst(int pc) {
+		int insPc = pc ++;
+		int slot = code[pc ++] & 0xFF; /* u1 */
+		int index = readCpIndex(pc); /* u1 - u3 */
+		String argStr = String.format("'%d %s", slot, getConstantValue(index));
+		return new DisassSimpleInstruction(
+			chunk, insPc, ConstantPool.indexLength(index) + 1, argStr
+		);
+	}
+	
 	private DisassInstruction disassGlobalVariableIns(int pc) {
 		int insPc = pc ++;
 		int index = readCpIndex(pc);
@@ -264,6 +286,29 @@ public class Disassembler {
 		);
 	}
 
+	private DisassInstruction disassRangePrepareIns(int pc) {
+		int insPc = pc ++;
+		int counterSlot = code[pc ++] & 0xFF; /* u1 */
+		int offset = readJumpIndex(pc); /* u2 */
+		String argStr = String.format("'%d, offset %d", counterSlot, offset);
+		return new DisassSimpleInstruction(
+			chunk, insPc, 3, argStr
+		);
+	}
+	
+	private DisassInstruction disassRangeNextIns(int pc) {
+		int insPc = pc ++;
+		int counterSlot = code[pc ++] & 0xFF; /* u1 */
+		int varSlot = code[pc ++] & 0xFF; /* u1 */
+		int exitOffset = readJumpIndex(pc); /* u2 */
+		int bodyOffset = readJumpIndex(pc + 2); /* u2 */
+		String argStr = String.format("'%d, '%d, exit %d, body %d", 
+			counterSlot, varSlot, exitOffset, bodyOffset);
+		return new DisassSimpleInstruction(
+			chunk, insPc, 6, argStr
+		);
+	}
+
 	private DisassInstruction disassSimpleInstruction(int pc) {
 		return new DisassSimpleInstruction(chunk, pc, 0, "");
 	}